@@ -0,0 +1,71 @@
+/*
+load_test.js
+
+Teste de carga (k6) que compara o modo de threads de plataforma com o modo de virtual threads
+sob 5000 clientes simultâneos fazendo leituras e escritas que bloqueiam no JDBC.
+
+Pré-requisitos:
+- Postgres rodando (veja scripts/ci_local.ps1) e k6 instalado (https://k6.io)
+
+Uso:
+  # 1) threads de plataforma (padrão, pool do Tomcat limitado a 200)
+  ./mvnw spring-boot:run
+  k6 run scripts/load_test.js --summary-export target/load-platform.json
+
+  # 2) virtual threads (+ diagnóstico de pinning em target/virtual-threads.jfr)
+  ./mvnw -Pvirtual-threads spring-boot:run
+  k6 run scripts/load_test.js --summary-export target/load-virtual.json
+
+  Compare http_reqs (req/s), http_req_duration p(95)/p(99) e http_req_failed entre os dois arquivos.
+  Variáveis: BASE_URL (padrão http://localhost:8080), VUS (padrão 5000), DURATION (padrão 2m).
+*/
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+
+export const options = {
+    scenarios: {
+        clients: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: parseInt(__ENV.VUS || '5000') },
+                { duration: __ENV.DURATION || '2m', target: parseInt(__ENV.VUS || '5000') },
+                { duration: '10s', target: 0 },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+const JSON_HEADERS = { 'Content-Type': 'application/json' };
+
+export function setup() {
+    const email = `load-${Date.now()}@example.com`;
+    const password = 'loadtest123';
+    const created = http.post(`${BASE_URL}/api/users`,
+        JSON.stringify({ name: 'Load Test', email, password, admin: false, consentGiven: true }), { headers: JSON_HEADERS });
+    check(created, { 'user created': (r) => r.status === 201 || r.status === 200 });
+
+    const login = http.post(`${BASE_URL}/api/auth/login`, JSON.stringify({ email, password }), { headers: JSON_HEADERS });
+    check(login, { 'logged in': (r) => r.status === 200 });
+    return { userId: created.json('id'), token: login.json('token') };
+}
+
+export default function (data) {
+    const headers = { ...JSON_HEADERS, Authorization: `Bearer ${data.token}` };
+
+    // Mix of 80% reads and 20% writes, each one a blocking JDBC round trip
+    if (Math.random() < 0.8) {
+        const page = http.get(`${BASE_URL}/api/transactions?size=20`, { headers, tags: { name: 'list' } });
+        check(page, { 'list 200': (r) => r.status === 200 });
+    } else {
+        const body = JSON.stringify({ userId: data.userId, amount: 10, description: 'load test', type: 'BET' });
+        const created = http.post(`${BASE_URL}/api/transactions`, body, { headers, tags: { name: 'create' } });
+        check(created, { 'create 2xx': (r) => r.status >= 200 && r.status < 300 });
+    }
+}
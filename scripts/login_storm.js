@@ -0,0 +1,76 @@
+/*
+login_storm.js
+
+Teste de carga (k6): uma tempestade de logins (BCrypt) rodando ao mesmo tempo que leituras baratas
+de GET /api/transactions/{id}. Com o BCrypt no pool dedicado (app.security.hashing.*), as leituras
+devem manter a latência da fase "baseline"; os logins excedentes recebem 503 com Retry-After.
+
+Pré-requisitos:
+- Postgres rodando (veja scripts/ci_local.ps1) e k6 instalado (https://k6.io)
+
+Uso:
+  ./mvnw spring-boot:run
+  k6 run scripts/login_storm.js --summary-export target/login-storm.json
+
+  Compare http_req_duration{phase:baseline} com http_req_duration{phase:storm} para as leituras
+  e acompanhe /actuator/metrics/password.hashing.wait e executor.queued{name=password.hashing}.
+  Variáveis: BASE_URL (padrão http://localhost:8080), LOGIN_VUS (padrão 500), READ_RATE (padrão 200 req/s).
+*/
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const READ_RATE = parseInt(__ENV.READ_RATE || '200');
+
+export const options = {
+    scenarios: {
+        // Leituras a taxa constante durante todo o teste: 30s antes da tempestade e 1m durante
+        reads_baseline: {
+            executor: 'constant-arrival-rate', rate: READ_RATE, timeUnit: '1s', duration: '30s',
+            preAllocatedVUs: 100, exec: 'read', tags: { phase: 'baseline' },
+        },
+        reads_storm: {
+            executor: 'constant-arrival-rate', rate: READ_RATE, timeUnit: '1s', duration: '1m', startTime: '30s',
+            preAllocatedVUs: 100, exec: 'read', tags: { phase: 'storm' },
+        },
+        logins: {
+            executor: 'constant-vus', vus: parseInt(__ENV.LOGIN_VUS || '500'), duration: '1m', startTime: '30s',
+            exec: 'login', tags: { phase: 'storm' },
+        },
+    },
+    thresholds: {
+        // A latência das leituras não deve subir durante a tempestade
+        'http_req_duration{name:read,phase:baseline}': ['p(95)<100'],
+        'http_req_duration{name:read,phase:storm}': ['p(95)<100'],
+        'http_req_failed{name:read}': ['rate<0.01'],
+    },
+};
+
+const JSON_HEADERS = { 'Content-Type': 'application/json' };
+const PASSWORD = 'loadtest123';
+
+export function setup() {
+    const email = `storm-${Date.now()}@example.com`;
+    const created = http.post(`${BASE_URL}/api/users`,
+        JSON.stringify({ name: 'Login Storm', email, password: PASSWORD, admin: false, consentGiven: true }), { headers: JSON_HEADERS });
+    check(created, { 'user created': (r) => r.status === 201 || r.status === 200 });
+
+    const login = http.post(`${BASE_URL}/api/auth/login`, JSON.stringify({ email, password: PASSWORD }), { headers: JSON_HEADERS });
+    const headers = { ...JSON_HEADERS, Authorization: `Bearer ${login.json('token')}` };
+    const transaction = http.post(`${BASE_URL}/api/transactions`,
+        JSON.stringify({ userId: created.json('id'), amount: 10, description: 'login storm', type: 'DEPOSIT' }), { headers });
+    check(transaction, { 'transaction created': (r) => r.status >= 200 && r.status < 300 });
+    return { email, headers, transactionId: transaction.json('id') };
+}
+
+export function read(data) {
+    const res = http.get(`${BASE_URL}/api/transactions/${data.transactionId}`, { headers: data.headers, tags: { name: 'read' } });
+    check(res, { 'read 200': (r) => r.status === 200 });
+}
+
+export function login(data) {
+    const res = http.post(`${BASE_URL}/api/auth/login`, JSON.stringify({ email: data.email, password: PASSWORD }),
+        { headers: JSON_HEADERS, tags: { name: 'login' }, responseCallback: http.expectedStatuses(200, 503) });
+    check(res, { 'login 200 or shed': (r) => r.status === 200 || r.status === 503 });
+}
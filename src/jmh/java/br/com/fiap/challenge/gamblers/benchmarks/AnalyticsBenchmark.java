@@ -0,0 +1,101 @@
+package br.com.fiap.challenge.gamblers.benchmarks;
+
+import br.com.fiap.challenge.gamblers.entities.AnalyticsDimension;
+import br.com.fiap.challenge.gamblers.entities.AnalyticsMetric;
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import br.com.fiap.challenge.gamblers.entities.dtos.AnalyticsQueryRequest;
+import br.com.fiap.challenge.gamblers.entities.dtos.AnalyticsQueryResponse;
+import br.com.fiap.challenge.gamblers.repositories.TransactionRepository;
+import br.com.fiap.challenge.gamblers.services.AnalyticsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Full-window scans of the analytics snapshot, loaded from an in-memory repository with
+ * one transaction per second across 100k users. Run with a large heap for the bigger sizes
+ * (about 21 bytes per row), e.g. -Djmh.args="AnalyticsBenchmark -jvmArgs -Xmx4g".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnalyticsBenchmark {
+
+    private static final int USERS = 100_000;
+    private static final int BATCH = 100_000;
+
+    @Param({"10000000"})
+    private int rows;
+
+    private AnalyticsService analyticsService;
+    private AnalyticsQueryRequest volumePerTypePerHour;
+    private AnalyticsQueryRequest topBettors;
+    private AnalyticsQueryRequest totals;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        UUID[] users = new UUID[USERS];
+        for (int i = 0; i < USERS; i++) users[i] = UUID.randomUUID();
+        TransactionType[] types = TransactionType.values();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        Random random = new Random(42);
+        int[] produced = {0};
+
+        TransactionRepository repository = mock(TransactionRepository.class);
+        when(repository.findColumnsAfter(any(), any(), any(), any(Limit.class))).thenAnswer(invocation -> {
+            int n = Math.min(BATCH, rows - produced[0]);
+            List<Object[]> batch = new ArrayList<>(n);
+            for (int i = 0; i < n; i++, produced[0]++) {
+                batch.add(new Object[]{UUID.randomUUID(), users[random.nextInt(USERS)], start.plusSeconds(produced[0]),
+                        BigDecimal.valueOf(random.nextInt(100_000), 2), types[random.nextInt(types.length)]});
+            }
+            return batch;
+        });
+
+        analyticsService = new AnalyticsService(repository);
+        ReflectionTestUtils.setField(analyticsService, "enabled", true);
+        ReflectionTestUtils.setField(analyticsService, "batchSize", BATCH);
+        ReflectionTestUtils.setField(analyticsService, "maxRows", rows);
+        ReflectionTestUtils.setField(analyticsService, "refreshLag", Duration.ZERO);
+        analyticsService.refresh();
+
+        volumePerTypePerHour = AnalyticsQueryRequest.builder()
+                .groupBy(List.of(AnalyticsDimension.TYPE, AnalyticsDimension.HOUR)).build();
+        topBettors = AnalyticsQueryRequest.builder()
+                .types(Set.of(TransactionType.BET)).groupBy(List.of(AnalyticsDimension.USER))
+                .orderBy(AnalyticsMetric.AMOUNT).limit(100).build();
+        totals = AnalyticsQueryRequest.builder().groupBy(List.of(AnalyticsDimension.TYPE)).build();
+    }
+
+    @Benchmark
+    public AnalyticsQueryResponse totalsPerType() {
+        return analyticsService.query(totals);
+    }
+
+    @Benchmark
+    public AnalyticsQueryResponse volumePerTypePerHour() {
+        return analyticsService.query(volumePerTypePerHour);
+    }
+
+    @Benchmark
+    public AnalyticsQueryResponse topBettors() {
+        return analyticsService.query(topBettors);
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.fiap.challenge.gamblers.benchmarks;
+
+import br.com.fiap.challenge.gamblers.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication overhead of JwtAuthenticationFilter.
+ * legacyFilterPath reproduces the previous behaviour: isTokenValid + parseClaims,
+ * each building a new parser and verifying the HMAC again.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private Key key;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "benchmark-secret-that-is-at-least-32-bytes-long");
+        ReflectionTestUtils.setField(jwtUtil, "expirationMs", 3_600_000L);
+        jwtUtil.init();
+        key = (Key) ReflectionTestUtils.getField(jwtUtil, "key");
+        token = jwtUtil.generateToken("gambler@example.com");
+    }
+
+    @Benchmark
+    public String legacyFilterPath() {
+        Claims validated = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        if (!validated.getExpiration().after(new Date())) return null;
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public String verifyOnce() {
+        Optional<Claims> claims = jwtUtil.verify(token);
+        return claims.map(Claims::getSubject).orElse(null);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("gambler@example.com");
+    }
+}
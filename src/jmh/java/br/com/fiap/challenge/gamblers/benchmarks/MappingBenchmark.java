@@ -0,0 +1,80 @@
+package br.com.fiap.challenge.gamblers.benchmarks;
+
+import br.com.fiap.challenge.gamblers.entities.Transaction;
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import br.com.fiap.challenge.gamblers.entities.User;
+import br.com.fiap.challenge.gamblers.entities.dtos.CursorPage;
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionFilterRequest;
+import br.com.fiap.challenge.gamblers.repositories.TransactionRepository;
+import br.com.fiap.challenge.gamblers.services.TransactionService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Entity-to-DTO mapping (through TransactionService.findAll with an in-memory repository)
+ * and Jackson serialization of a page of TransactionDTOs with the same ObjectMapper setup Spring Boot uses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    @Param({"50", "500"})
+    private int size;
+
+    private TransactionService transactionService;
+    private TransactionFilterRequest filter;
+    private List<TransactionDTO> dtos;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        User user = User.builder().id(UUID.randomUUID()).name("Bench").email("bench@example.com").build();
+        List<Transaction> entities = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            entities.add(Transaction.builder()
+                    .id(UUID.randomUUID())
+                    .user(user)
+                    .amount(BigDecimal.valueOf(i + 1, 2))
+                    .description("Bet " + i)
+                    .type(TransactionType.BET)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        TransactionRepository repository = mock(TransactionRepository.class);
+        when(repository.findBy(any(Specification.class), any())).thenReturn(entities);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        transactionService = new TransactionService(repository, null, objectMapper, null, null, null, null, null, null);
+        filter = new TransactionFilterRequest();
+        filter.setSize(size);
+        dtos = transactionService.findAll(filter).getItems();
+    }
+
+    @Benchmark
+    public CursorPage<TransactionDTO> toDTO() {
+        return transactionService.findAll(filter);
+    }
+
+    @Benchmark
+    public byte[] serializeJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+}
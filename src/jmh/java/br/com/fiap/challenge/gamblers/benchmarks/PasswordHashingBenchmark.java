@@ -0,0 +1,38 @@
+package br.com.fiap.challenge.gamblers.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt at the cost factor configured in SecurityConfig (the encoder default, 10).
+ * This is the CPU paid by every login and user creation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordHashingBenchmark {
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder();
+        hash = encoder.encode("senhaSegura123");
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("senhaSegura123");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("senhaSegura123", hash);
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.fiap.challenge.gamblers.benchmarks;
+
+import br.com.fiap.challenge.gamblers.GamblersApplication;
+import br.com.fiap.challenge.gamblers.entities.Transaction;
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import br.com.fiap.challenge.gamblers.entities.User;
+import br.com.fiap.challenge.gamblers.entities.dtos.CursorPage;
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionFilterRequest;
+import br.com.fiap.challenge.gamblers.repositories.TransactionRepository;
+import br.com.fiap.challenge.gamblers.repositories.UserRepository;
+import br.com.fiap.challenge.gamblers.services.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransactionService.findAll against the H2 test database (src/test/resources/application.properties),
+ * seeded with {@code rows} transactions spread over 100 users.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionQueryBenchmark {
+
+    @Param({"20000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private TransactionFilterRequest firstPage;
+    private TransactionFilterRequest byDescription;
+    private TransactionFilterRequest byType;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(GamblersApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run();
+        transactionService = context.getBean(TransactionService.class);
+        seed(context.getBean(UserRepository.class), context.getBean(TransactionRepository.class));
+
+        firstPage = new TransactionFilterRequest();
+        byDescription = new TransactionFilterRequest();
+        byDescription.setDescription("jackpot");
+        byType = new TransactionFilterRequest();
+        byType.setType("DEPOSIT");
+        byType.setSize(200);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private void seed(UserRepository users, TransactionRepository transactions) {
+        List<User> seededUsers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            seededUsers.add(users.save(User.builder()
+                    .name("Bench " + i)
+                    .email("bench" + i + "-" + UUID.randomUUID() + "@example.com")
+                    .passwordHash("x")
+                    .createdAt(LocalDateTime.now())
+                    .build()));
+        }
+        TransactionType[] types = TransactionType.values();
+        LocalDateTime start = LocalDateTime.now().minusDays(30);
+        List<Transaction> batch = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            batch.add(Transaction.builder()
+                    .user(seededUsers.get(i % seededUsers.size()))
+                    .amount(BigDecimal.valueOf(i % 500 + 1))
+                    .description(i % 50 == 0 ? "Jackpot bet " + i : "Bet " + i)
+                    .type(types[i % types.length])
+                    .createdAt(start.plusSeconds(i * 60L))
+                    .build());
+            if (batch.size() == 1000) {
+                transactions.saveAll(batch);
+                batch.clear();
+            }
+        }
+        transactions.saveAll(batch);
+    }
+
+    @Benchmark
+    public CursorPage<TransactionDTO> findAllFirstPage() {
+        return transactionService.findAll(firstPage);
+    }
+
+    @Benchmark
+    public CursorPage<TransactionDTO> findAllByDescription() {
+        return transactionService.findAll(byDescription);
+    }
+
+    @Benchmark
+    public CursorPage<TransactionDTO> findAllByType() {
+        return transactionService.findAll(byType);
+    }
+}
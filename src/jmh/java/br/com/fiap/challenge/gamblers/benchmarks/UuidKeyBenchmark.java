@@ -0,0 +1,94 @@
+package br.com.fiap.challenge.gamblers.benchmarks;
+
+import br.com.fiap.challenge.gamblers.entities.ids.UuidV7;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Random (v4) versus time-ordered (v7) primary keys: id generation cost, and batched inserts into a
+ * file-backed H2 table whose UUID primary key keeps growing across iterations. The table size
+ * (rows plus primary key index) is printed at the end of each trial.
+ * On Postgres, compare pg_relation_size('transactions_pkey') after loading the same rows with each generator.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UuidKeyBenchmark {
+
+    private static final int BATCH = 1000;
+
+    @Param({"v4", "v7"})
+    private String version;
+
+    private Path directory;
+    private Connection connection;
+    private PreparedStatement insert;
+    private long rows;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("uuid-bench");
+        connection = DriverManager.getConnection("jdbc:h2:file:" + directory.resolve("db"), "sa", "");
+        connection.setAutoCommit(false);
+        try (Statement st = connection.createStatement()) {
+            st.execute("create table bench_tx (id uuid primary key, user_id uuid not null, amount decimal(19,4) not null)");
+        }
+        insert = connection.prepareStatement("insert into bench_tx (id, user_id, amount) values (?, ?, ?)");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException, IOException {
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("call disk_space_used('BENCH_TX')")) {
+            rs.next();
+            System.out.printf("%n[%s] %d rows, table + primary key: %.1f MiB (%.1f bytes/row)%n",
+                    version, rows, rs.getLong(1) / 1048576.0, rows == 0 ? 0.0 : (double) rs.getLong(1) / rows);
+        }
+        connection.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private UUID nextId() {
+        return "v7".equals(version) ? UuidV7.next() : UUID.randomUUID();
+    }
+
+    @Benchmark
+    public UUID generate() {
+        return nextId();
+    }
+
+    /** One op = one committed batch of 1000 rows. */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void insertBatch() throws SQLException {
+        UUID user = UUID.randomUUID();
+        for (int i = 0; i < BATCH; i++) {
+            insert.setObject(1, nextId());
+            insert.setObject(2, user);
+            insert.setBigDecimal(3, BigDecimal.TEN);
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+        rows += BATCH;
+    }
+}
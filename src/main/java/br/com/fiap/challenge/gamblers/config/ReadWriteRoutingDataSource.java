@@ -0,0 +1,70 @@
+package br.com.fiap.challenge.gamblers.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Sends connections of read-only transactions to the replica and everything else (read-write
+ * transactions, work outside a transaction) to the primary.
+ * Read-your-writes: once a read-write transaction of an authenticated user commits, that user's
+ * read-only transactions stay on the primary for the configured window, so replication lag never
+ * hides their own writes from them.
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction manager opens the connection
+ * before it publishes the read-only flag, and the proxy defers the lookup to the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWrites, long maxTrackedUsers) {
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxTrackedUsers)
+                .expireAfterWrite(readYourWrites)
+                .build();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) return Route.PRIMARY;
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null) rememberWriteOnCommit(user);
+            return Route.PRIMARY;
+        }
+        return user != null && recentWriters.getIfPresent(user) != null ? Route.PRIMARY : Route.REPLICA;
+    }
+
+    // The window starts when the writes become visible on the primary, not when the transaction began
+    private void rememberWriteOnCommit(String user) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recentWriters.put(user, Boolean.TRUE);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        });
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) return null;
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.fiap.challenge.gamblers.controllers;
+
+import br.com.fiap.challenge.gamblers.entities.dtos.AnalyticsQueryRequest;
+import br.com.fiap.challenge.gamblers.entities.dtos.AnalyticsQueryResponse;
+import br.com.fiap.challenge.gamblers.interfaces.IAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Analytics", description = "Consultas agregadas sobre o histórico de transações")
+public class AnalyticsController {
+    private final IAnalyticsService analyticsService;
+
+    @PostMapping("/query")
+    @Operation(summary = "Consulta analítica", description = "Agrega quantidade e valor das transações por tipo, usuário e hora/dia em uma janela [from, to), a partir de um snapshot em memória atualizado periodicamente")
+    @PreAuthorize("hasRole('ADMIN')")
+    public AnalyticsQueryResponse query(@RequestBody AnalyticsQueryRequest request) {
+        return analyticsService.query(request);
+    }
+}
@@ -2,8 +2,9 @@ package br.com.fiap.challenge.gamblers.controllers;
 
 import br.com.fiap.challenge.gamblers.entities.dtos.LoginRequest;
 import br.com.fiap.challenge.gamblers.entities.dtos.LoginResponse;
+import br.com.fiap.challenge.gamblers.entities.dtos.RefreshTokenRequest;
+import br.com.fiap.challenge.gamblers.interfaces.IRefreshTokenService;
 import br.com.fiap.challenge.gamblers.interfaces.IUserService;
-import br.com.fiap.challenge.gamblers.security.JwtUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -26,15 +27,30 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Auth", description = "Autenticação e obtenção de token JWT")
 public class AuthController {
     private final AuthenticationManager authenticationManager;
-    private final JwtUtil jwtUtil;
     private final IUserService userService;
+    private final IRefreshTokenService refreshTokenService;
 
     @PostMapping("/login")
-    @Operation(summary = "Login", description = "Autentica o usuário e retorna um token JWT de uso nas próximas requisições")
+    @Operation(summary = "Login", description = "Autentica o usuário e retorna um token JWT de uso nas próximas requisições e um refresh token para renová-lo")
     @ApiResponse(responseCode = "200", description = "Autenticado com sucesso", content = @Content(schema = @Schema(implementation = LoginResponse.class)))
     public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest req) {
         Authentication auth = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(req.getEmail(), req.getPassword()));
-        String token = jwtUtil.generateToken(req.getEmail());
-        return ResponseEntity.ok(new LoginResponse(token));
+        return ResponseEntity.ok(refreshTokenService.issue(req.getEmail()));
+    }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Renovar token", description = "Troca um refresh token válido por um novo token JWT e um novo refresh token, sem reenviar a senha. Cada refresh token vale uma única vez; reutilizá-lo revoga a sessão")
+    @ApiResponse(responseCode = "200", description = "Token renovado", content = @Content(schema = @Schema(implementation = LoginResponse.class)))
+    @ApiResponse(responseCode = "401", description = "Refresh token inválido, expirado ou revogado")
+    public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest req) {
+        return ResponseEntity.ok(refreshTokenService.refresh(req.getRefreshToken()));
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revoga o refresh token informado, todos os renovados a partir do mesmo login e os tokens JWT emitidos com eles")
+    @ApiResponse(responseCode = "204", description = "Sessão revogada")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest req) {
+        refreshTokenService.revoke(req.getRefreshToken());
+        return ResponseEntity.noContent().build();
     }
 }
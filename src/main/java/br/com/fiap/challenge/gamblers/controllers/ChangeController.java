@@ -0,0 +1,31 @@
+package br.com.fiap.challenge.gamblers.controllers;
+
+import br.com.fiap.challenge.gamblers.entities.dtos.ChangeFeedPage;
+import br.com.fiap.challenge.gamblers.interfaces.IChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+@Tag(name = "Changes", description = "Feed incremental de alterações em transações e usuários")
+public class ChangeController {
+    private final IChangeFeedService changeFeedService;
+
+    @GetMapping
+    @Operation(summary = "Listar alterações", description = "Retorna, em ordem, as criações, atualizações e exclusões (tombstones) de transações e usuários posteriores ao cursor since. " +
+            "Use nextCursor como since na próxima chamada; eventos ficam disponíveis por app.changes.retention")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ChangeFeedPage changes(
+            @Parameter(description = "Cursor da última leitura (0 para começar do início)") @RequestParam(defaultValue = "0") long since,
+            @Parameter(description = "Máximo de eventos (padrão 500, até 5000)") @RequestParam(required = false) Integer limit) {
+        return changeFeedService.changesSince(since, limit);
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.fiap.challenge.gamblers.controllers;
+
+import br.com.fiap.challenge.gamblers.entities.dtos.RiskFlagDTO;
+import br.com.fiap.challenge.gamblers.interfaces.IRiskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/risk")
+@RequiredArgsConstructor
+@Tag(name = "Risk", description = "Detecção de apostadores com comportamento de risco")
+public class RiskController {
+    private static final int MAX_LIMIT = 1000;
+
+    private final IRiskService riskService;
+
+    @GetMapping("/flags")
+    @Operation(summary = "Listar usuários sinalizados", description = "Retorna os usuários que ultrapassaram algum limite de risco na janela deslizante atual, os mais graves primeiro")
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<RiskFlagDTO> findFlags(@RequestParam(defaultValue = "100") int limit) {
+        return riskService.findFlags(Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+}
@@ -1,21 +1,39 @@
 package br.com.fiap.challenge.gamblers.controllers;
 
+import br.com.fiap.challenge.gamblers.entities.IngestionStatus;
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import br.com.fiap.challenge.gamblers.entities.dtos.BulkTransactionResponse;
 import br.com.fiap.challenge.gamblers.entities.dtos.CreateTransactionDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.CursorPage;
 import br.com.fiap.challenge.gamblers.entities.dtos.TransactionDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionIngestionStatusDTO;
 import br.com.fiap.challenge.gamblers.services.TransactionService;
 import br.com.fiap.challenge.gamblers.entities.dtos.TransactionFilterRequest;
+import br.com.fiap.challenge.gamblers.interfaces.IIdempotencyService;
+import br.com.fiap.challenge.gamblers.interfaces.ITransactionIngestionService;
 import br.com.fiap.challenge.gamblers.interfaces.ITransactionService;
+import br.com.fiap.challenge.gamblers.interfaces.ITransactionStreamService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,29 +42,97 @@ import java.util.UUID;
 @RequiredArgsConstructor
 @Tag(name = "Transactions", description = "Operações relacionadas a transações")
 public class TransactionController {
+    private static final String NDJSON = "application/x-ndjson";
+
     private final ITransactionService transactionService;
+    private final ITransactionIngestionService ingestionService;
+    private final IIdempotencyService idempotencyService;
+    private final ITransactionStreamService streamService;
 
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    @Operation(summary = "Criar transação", description = "Cria uma nova transação vinculada a um usuário")
+    @Operation(summary = "Criar transação", description = "Cria uma nova transação vinculada a um usuário. Com a ingestão assíncrona ativa (app.ingest.enabled), " +
+            "a transação é enfileirada e gravada em lote: responde 201 após o commit (app.ingest.ack=COMMIT) ou 202 com o id logo após enfileirar (ENQUEUE). " +
+            "Com o cabeçalho Idempotency-Key, repetições da mesma requisição devolvem a transação original em vez de criar outra")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Transação criada", content = @Content(schema = @Schema(implementation = TransactionDTO.class))),
-            @ApiResponse(responseCode = "400", description = "Requisição inválida")
+            @ApiResponse(responseCode = "202", description = "Transação aceita; consulte GET /api/transactions/{id}/status", content = @Content(schema = @Schema(implementation = TransactionIngestionStatusDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Requisição inválida ou Idempotency-Key já usada com outra requisição"),
+            @ApiResponse(responseCode = "429", description = "Fila de ingestão cheia; tente novamente após Retry-After")
     })
-    public TransactionDTO create(@Valid @RequestBody CreateTransactionDTO dto) {
-        return transactionService.create(dto);
+    public ResponseEntity<Object> create(
+            @Valid @RequestBody CreateTransactionDTO dto,
+            @Parameter(description = "Chave única por operação do usuário autenticado (até 255 caracteres), guardada por app.idempotency.retention")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        // The key has to commit with the insert, so keyed requests skip the async queue
+        if (idempotencyKey != null) return ResponseEntity.status(HttpStatus.CREATED).body(idempotencyService.createTransaction(idempotencyKey, dto));
+        if (!ingestionService.isEnabled()) return ResponseEntity.status(HttpStatus.CREATED).body(transactionService.create(dto));
+        TransactionIngestionStatusDTO result = ingestionService.submit(dto);
+        if (result.getStatus() == IngestionStatus.COMMITTED) return ResponseEntity.status(HttpStatus.CREATED).body(result.getTransaction());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/transactions/" + result.getId() + "/status"))
+                .body(result);
+    }
+
+    @GetMapping("/{id}/status")
+    @Operation(summary = "Situação da ingestão", description = "Informa se uma transação aceita pela ingestão assíncrona está pendente, gravada ou falhou")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Situação encontrada", content = @Content(schema = @Schema(implementation = TransactionIngestionStatusDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Transação desconhecida")
+    })
+    public TransactionIngestionStatusDTO status(@PathVariable UUID id) {
+        return ingestionService.status(id);
+    }
+
+    @PostMapping("/bulk")
+    @Operation(summary = "Criar transações em lote", description = "Cria até 5000 transações em uma única requisição e retorna o resultado de cada linha. Linhas inválidas são rejeitadas individualmente")
+    @ApiResponse(responseCode = "200", description = "Lote processado", content = @Content(schema = @Schema(implementation = BulkTransactionResponse.class)))
+    public BulkTransactionResponse createBulk(@RequestBody List<CreateTransactionDTO> dtos) {
+        return transactionService.createBulk(dtos);
     }
 
     @GetMapping("/user/{userId}")
-    @Operation(summary = "Listar transações de um usuário", description = "Retorna todas as transações de um usuário específico")
-    public List<TransactionDTO> findByUser(@PathVariable UUID userId) {
-        return transactionService.findByUser(userId);
+    @Operation(summary = "Listar transações de um usuário", description = "Retorna as transações de um usuário específico no intervalo [from, to). Os parâmetros from e to são obrigatórios")
+    public List<TransactionDTO> findByUser(
+            @PathVariable UUID userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return transactionService.findByUser(userId, from, to);
     }
 
     @GetMapping
-    @Operation(summary = "Listar transações", description = "Retorna a lista de transações, filtrável por descrição e tipo")
-    public List<TransactionDTO> findAll(@org.springframework.web.bind.annotation.ModelAttribute TransactionFilterRequest filter) {
-        return transactionService.findAll(filter.getDescription(), filter.getType());
+    @Operation(summary = "Listar transações", description = "Retorna uma página de transações (mais recentes primeiro), filtrável por descrição, tipo e intervalo [from, to). Use nextCursor no parâmetro cursor para obter a próxima página")
+    public CursorPage<TransactionDTO> findAll(@org.springframework.web.bind.annotation.ModelAttribute TransactionFilterRequest filter) {
+        return transactionService.findAll(filter);
+    }
+
+    @GetMapping(value = "/export", produces = NDJSON)
+    @Operation(summary = "Exportar transações", description = "Exporta transações em NDJSON (uma por linha), em ordem cronológica, filtráveis por intervalo [from, to) e tipo. A resposta é transmitida sem carregar o histórico em memória")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) TransactionType type) {
+        // Checked here: once the body streams the 200 is committed and an error could only truncate it
+        if (from != null && to != null && !from.isBefore(to)) throw new IllegalArgumentException("'from' must be before 'to'");
+        StreamingResponseBody body = out -> transactionService.exportTo(out, from, to, type);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transactions.ndjson\"")
+                .body(body);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar transações ao vivo", description = "Abre um fluxo Server-Sent Events com as transações criadas a partir de agora (evento \"transaction\"), " +
+            "opcionalmente só de um usuário e/ou tipo. Servido da memória, sem consultas ao banco; clientes que não acompanham o ritmo são desconectados e devem reconectar")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Fluxo aberto"),
+            @ApiResponse(responseCode = "503", description = "Limite de fluxos abertos atingido; tente novamente após Retry-After")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public SseEmitter stream(
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(required = false) TransactionType type) {
+        return streamService.subscribe(userId, type);
     }
 
     @GetMapping("/{id}")
@@ -1,10 +1,16 @@
 package br.com.fiap.challenge.gamblers.controllers;
 
+import br.com.fiap.challenge.gamblers.entities.ActivityGranularity;
+import br.com.fiap.challenge.gamblers.entities.dtos.BalanceDTO;
 import br.com.fiap.challenge.gamblers.entities.dtos.CreateUserDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.CursorPage;
 import br.com.fiap.challenge.gamblers.entities.dtos.UserDTO;
 import br.com.fiap.challenge.gamblers.entities.dtos.UpdateUserDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.UserActivityResponse;
 import br.com.fiap.challenge.gamblers.services.UserService;
 import br.com.fiap.challenge.gamblers.entities.dtos.UserFilterRequest;
+import br.com.fiap.challenge.gamblers.interfaces.IActivityService;
+import br.com.fiap.challenge.gamblers.interfaces.IBalanceService;
 import br.com.fiap.challenge.gamblers.interfaces.IUserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -14,14 +20,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.LocalDate;
 import java.util.UUID;
-import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/users")
@@ -29,6 +37,8 @@ import java.util.List;
 @Tag(name = "Users", description = "Operações relacionadas a usuários")
 public class UserController {
     private final IUserService userService;
+    private final IBalanceService balanceService;
+    private final IActivityService activityService;
     private static final Logger log = LoggerFactory.getLogger(UserController.class);
 
     @PostMapping
@@ -51,10 +61,10 @@ public class UserController {
     }
 
     @GetMapping
-    @Operation(summary = "Listar usuários", description = "Retorna a lista de usuários, filtrável por nome e email")
+    @Operation(summary = "Listar usuários", description = "Retorna uma página de usuários (mais recentes primeiro), filtrável por nome e email. Use nextCursor no parâmetro cursor para obter a próxima página")
     @PreAuthorize("hasRole('ADMIN')")
-    public List<UserDTO> findAll(@org.springframework.web.bind.annotation.ModelAttribute UserFilterRequest filter) {
-        return userService.findAll(filter.getName(), filter.getEmail());
+    public CursorPage<UserDTO> findAll(@org.springframework.web.bind.annotation.ModelAttribute UserFilterRequest filter) {
+        return userService.findAll(filter);
     }
 
     @PutMapping("/{id}")
@@ -72,6 +82,44 @@ public class UserController {
         userService.delete(id);
     }
 
+    @GetMapping("/{id}/balance")
+    @Operation(summary = "Consultar saldo", description = "Retorna o saldo e a exposição em apostas do usuário a partir do livro-razão materializado")
+    @ApiResponse(responseCode = "200", description = "Saldo encontrado", content = @Content(schema = @Schema(implementation = BalanceDTO.class)))
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public BalanceDTO getBalance(@PathVariable UUID id) {
+        return balanceService.getBalance(id);
+    }
+
+    @PostMapping("/balances/rebuild")
+    @Operation(summary = "Reconstruir saldos", description = "Recalcula todos os saldos a partir das transações, em lotes (ex.: após importações em massa)")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Long> rebuildBalances() {
+        long processed = balanceService.rebuildAll();
+        log.info("Balance ledger rebuilt for {} users", processed);
+        return Map.of("usersProcessed", processed);
+    }
+
+    @GetMapping("/{id}/activity")
+    @Operation(summary = "Consultar atividade", description = "Quantidade, soma, mínimo e máximo das transações do usuário por tipo e período, "
+            + "lidos dos agregados diários. Intervalo [from, to) em datas; padrão: últimos 365 dias")
+    @ApiResponse(responseCode = "200", description = "Atividade do usuário", content = @Content(schema = @Schema(implementation = UserActivityResponse.class)))
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public UserActivityResponse getActivity(@PathVariable UUID id,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                            @RequestParam(required = false) ActivityGranularity granularity) {
+        return activityService.getActivity(id, from, to, granularity);
+    }
+
+    @PostMapping("/activity/rebuild")
+    @Operation(summary = "Reconstruir agregados de atividade", description = "Recalcula os agregados diários a partir das transações, em lotes de usuários processados em paralelo")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Long> rebuildActivity() {
+        long processed = activityService.rebuildAll();
+        log.info("Daily activity rollups rebuilt for {} users", processed);
+        return Map.of("usersProcessed", processed);
+    }
+
     // New endpoint to register consent changes
     @PostMapping("/{id}/consent")
     @Operation(summary = "Registrar consentimento", description = "Registra ou remove o consentimento de um usuário")
@@ -0,0 +1,47 @@
+package br.com.fiap.challenge.gamblers.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One entry of the change feed (GET /api/changes): a transaction or user was written or deleted.
+ * Inserted in the same database transaction as the change itself, without a seq; the sequencer numbers it
+ * once that transaction has committed, so seq only ever grows in commit order and is the cursor consumers
+ * resume from. Deletes leave a tombstone.
+ */
+@Entity
+@Table(name = "change_events", indexes = {
+        @Index(name = "idx_change_events_changed_at", columnList = "changedAt"),
+        @Index(name = "uk_change_events_seq", columnList = "seq", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // null until sequenced
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ChangeEntity entityType;
+
+    @Column(columnDefinition = "UUID", nullable = false)
+    private UUID entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private ChangeOperation operation;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+}
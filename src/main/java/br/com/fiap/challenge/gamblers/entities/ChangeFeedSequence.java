@@ -0,0 +1,25 @@
+package br.com.fiap.challenge.gamblers.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Single row holding the last seq handed out by the change feed sequencer. Sequencers lock it for the
+ * length of their transaction, so only one numbers events at a time, on any instance.
+ * Read and written through JDBC by ChangeFeedService.
+ */
+@Entity
+@Table(name = "change_feed_sequence")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeFeedSequence {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private long lastSeq;
+}
@@ -0,0 +1,75 @@
+package br.com.fiap.challenge.gamblers.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Idempotency-Key sent with POST /api/transactions and the transaction it created, inserted in the same
+ * database transaction, so a retried request finds the original instead of creating a duplicate bet.
+ * Keys are scoped to the authenticated principal, so clients picking the same key do not collide.
+ * The request hash detects a key reused for a different request. Purged after the retention period.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_created_at", columnList = "createdAt")
+})
+@IdClass(IdempotencyKey.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyKey implements Persistable<IdempotencyKey.Key> {
+
+    @Id
+    @Column(nullable = false, length = 255)
+    private String principal;
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(columnDefinition = "UUID", nullable = false)
+    private UUID transactionId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Keys are always inserted, never updated: skip the SELECT that save() would do to merge an assigned id
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    @Override
+    public Key getId() {
+        return new Key(principal, idempotencyKey);
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        persisted = true;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String principal;
+        private String idempotencyKey;
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.fiap.challenge.gamblers.entities;
+
+import br.com.fiap.challenge.gamblers.entities.ids.GeneratedUuidV7;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Event waiting to be delivered downstream, inserted in the same database transaction as the change it
+ * describes, so an event exists if and only if the change committed. OutboxDispatcher delivers it and
+ * deletes the row; until then nextAttemptAt holds the claim lease or the retry backoff.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_next_attempt_at", columnList = "nextAttemptAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedUuidV7
+    @Column(columnDefinition = "UUID", updatable = false, nullable = false)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ChangeEntity aggregateType;
+
+    @Column(columnDefinition = "UUID", nullable = false)
+    private UUID aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private OutboxEventType eventType;
+
+    // JSON document, delivered as is
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+}
@@ -0,0 +1,54 @@
+package br.com.fiap.challenge.gamblers.entities;
+
+import br.com.fiap.challenge.gamblers.entities.ids.GeneratedUuidV7;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Opaque refresh token issued at login. Only the SHA-256 of the token is stored.
+ * Each refresh revokes the presented token and issues a new one in the same family;
+ * presenting an already rotated token revokes the whole family.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_family", columnList = "familyId"),
+        @Index(name = "idx_refresh_tokens_user", columnList = "userId"),
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expiresAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+
+    @Id
+    @GeneratedUuidV7
+    @Column(columnDefinition = "UUID", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private UUID familyId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column
+    private LocalDateTime revokedAt;
+
+    // jti of the access token issued together with this refresh token, revoked with the family
+    @Column(length = 64)
+    private String accessJti;
+}
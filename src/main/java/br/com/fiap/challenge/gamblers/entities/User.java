@@ -1,14 +1,16 @@
 package br.com.fiap.challenge.gamblers.entities;
 
+import br.com.fiap.challenge.gamblers.entities.ids.GeneratedUuidV7;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.GenericGenerator;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_created_at_id", columnList = "createdAt DESC, id DESC")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,8 +19,7 @@ import java.util.UUID;
 public class User {
 
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @GeneratedUuidV7
     @Column(columnDefinition = "UUID", updatable = false, nullable = false)
     private UUID id;
 
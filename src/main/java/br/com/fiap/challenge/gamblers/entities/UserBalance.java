@@ -0,0 +1,45 @@
+package br.com.fiap.challenge.gamblers.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Materialized per-user ledger maintained by TransactionService.
+ * balance = totalDeposits - totalWithdrawals - totalBets; totalBets is the user's betting exposure.
+ */
+@Entity
+@Table(name = "user_balances")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserBalance {
+
+    @Id
+    @Column(columnDefinition = "UUID", updatable = false, nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal balance;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalDeposits;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalWithdrawals;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalBets;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
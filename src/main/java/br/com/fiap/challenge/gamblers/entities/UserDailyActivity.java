@@ -0,0 +1,66 @@
+package br.com.fiap.challenge.gamblers.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Daily rollup of a user's transactions of one type, maintained by TransactionService alongside the
+ * balance ledger. Activity reports read these rows instead of scanning transactions.
+ */
+@Entity
+@Table(name = "user_daily_activity")
+@IdClass(UserDailyActivity.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserDailyActivity {
+
+    @Id
+    @Column(columnDefinition = "UUID", updatable = false, nullable = false)
+    private UUID userId;
+
+    @Id
+    @Column(name = "activity_date", nullable = false)
+    private LocalDate day;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @Column(nullable = false)
+    private long transactionCount;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal minAmount;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal maxAmount;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID userId;
+        private LocalDate day;
+        private TransactionType type;
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.fiap.challenge.gamblers.entities.dtos;
+
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Movimentação de um tipo de transação em um período (dia, semana, mês ou ano)")
+public class ActivityBucketDTO {
+    @Schema(description = "Primeiro dia do período")
+    private LocalDate period;
+    private TransactionType type;
+    private long count;
+    private BigDecimal amount;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+}
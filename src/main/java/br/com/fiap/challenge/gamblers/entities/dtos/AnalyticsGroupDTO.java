@@ -0,0 +1,24 @@
+package br.com.fiap.challenge.gamblers.entities.dtos;
+
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Grupo do resultado analítico; campos fora do groupBy ficam nulos")
+public class AnalyticsGroupDTO {
+    private TransactionType type;
+    private UUID userId;
+    // Start of the HOUR or DAY bucket
+    private LocalDateTime bucket;
+    private long count;
+    private BigDecimal amount;
+}
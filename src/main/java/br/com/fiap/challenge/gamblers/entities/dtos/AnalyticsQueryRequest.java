@@ -0,0 +1,38 @@
+package br.com.fiap.challenge.gamblers.entities.dtos;
+
+import br.com.fiap.challenge.gamblers.entities.AnalyticsDimension;
+import br.com.fiap.challenge.gamblers.entities.AnalyticsMetric;
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Consulta agregada sobre o snapshot colunar de transações", example = "{ \"from\": \"2025-01-01T00:00:00\", \"to\": \"2025-02-01T00:00:00\", \"types\": [\"BET\"], \"groupBy\": [\"USER\"], \"orderBy\": \"AMOUNT\", \"limit\": 10 }")
+public class AnalyticsQueryRequest {
+    // Optional [from, to) window on createdAt
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    // Empty or null means every type
+    private Set<TransactionType> types;
+
+    private UUID userId;
+
+    // At most one of HOUR and DAY
+    private List<AnalyticsDimension> groupBy;
+
+    // Sort groups by this metric, largest first; null sorts by group key
+    private AnalyticsMetric orderBy;
+
+    // Maximum number of groups returned, capped by the service
+    private Integer limit;
+}
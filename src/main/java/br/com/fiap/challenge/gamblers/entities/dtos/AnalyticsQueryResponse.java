@@ -0,0 +1,24 @@
+package br.com.fiap.challenge.gamblers.entities.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Resultado de uma consulta analítica e metadados do snapshot consultado")
+public class AnalyticsQueryResponse {
+    private List<AnalyticsGroupDTO> groups;
+    // Groups found before applying the limit
+    private int totalGroups;
+    private long rowsScanned;
+    private long snapshotRows;
+    // createdAt of the newest transaction loaded into the snapshot
+    private LocalDateTime snapshotUpTo;
+    private long elapsedMillis;
+}
@@ -0,0 +1,23 @@
+package br.com.fiap.challenge.gamblers.entities.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Saldo e exposição em apostas de um usuário")
+public class BalanceDTO {
+    private UUID userId;
+    private BigDecimal balance;
+    private BigDecimal totalDeposits;
+    private BigDecimal totalWithdrawals;
+    private BigDecimal totalBets;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,18 @@
+package br.com.fiap.challenge.gamblers.entities.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Resumo da ingestão em lote de transações")
+public class BulkTransactionResponse {
+    private int created;
+    private int rejected;
+    private List<BulkTransactionResult> results;
+}
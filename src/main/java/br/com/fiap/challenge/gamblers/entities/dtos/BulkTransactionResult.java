@@ -0,0 +1,19 @@
+package br.com.fiap.challenge.gamblers.entities.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Resultado de uma linha da ingestão em lote (index refere-se à posição no array enviado)")
+public class BulkTransactionResult {
+    private int index;
+    private boolean created;
+    private UUID id;
+    private String error;
+}
@@ -0,0 +1,28 @@
+package br.com.fiap.challenge.gamblers.entities.dtos;
+
+import br.com.fiap.challenge.gamblers.entities.ChangeEntity;
+import br.com.fiap.challenge.gamblers.entities.ChangeOperation;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Alteração de uma transação ou usuário no feed de mudanças")
+public class ChangeEventDTO {
+    @Schema(description = "Posição do evento no feed, crescente")
+    private long seq;
+    private ChangeEntity entity;
+    private UUID id;
+    private ChangeOperation operation;
+    private LocalDateTime changedAt;
+    @Schema(description = "Estado atual da transação, quando entity = TRANSACTION e ela ainda existe")
+    private TransactionDTO transaction;
+    @Schema(description = "Estado atual do usuário, quando entity = USER e ele ainda existe")
+    private UserDTO user;
+}
@@ -0,0 +1,20 @@
+package br.com.fiap.challenge.gamblers.entities.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Página do feed de mudanças")
+public class ChangeFeedPage {
+    private List<ChangeEventDTO> items;
+    @Schema(description = "Cursor para a próxima leitura (since); sempre presente, mesmo sem itens novos")
+    private long nextCursor;
+    @Schema(description = "Há mais eventos disponíveis além desta página")
+    private boolean hasMore;
+}
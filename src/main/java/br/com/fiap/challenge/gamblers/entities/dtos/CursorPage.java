@@ -0,0 +1,19 @@
+package br.com.fiap.challenge.gamblers.entities.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Página de resultados com cursor para a próxima página (null quando não há mais itens)")
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+}
@@ -6,7 +6,9 @@ import io.swagger.v3.oas.annotations.media.Schema;
 
 @Data
 @AllArgsConstructor
-@Schema(description = "Resposta de login contendo o token JWT")
+@Schema(description = "Resposta de login contendo o token JWT e o refresh token para renová-lo")
 public class LoginResponse {
     private String token;
+    // Opaque, single use: each renewal returns a new one
+    private String refreshToken;
 }
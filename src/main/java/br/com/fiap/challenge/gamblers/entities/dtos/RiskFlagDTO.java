@@ -0,0 +1,27 @@
+package br.com.fiap.challenge.gamblers.entities.dtos;
+
+import br.com.fiap.challenge.gamblers.entities.RiskReason;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Usuário sinalizado pelo motor de detecção de risco, com os agregados da janela deslizante")
+public class RiskFlagDTO {
+    private UUID userId;
+    private Set<RiskReason> reasons;
+    private int betCount;
+    private BigDecimal betVolume;
+    private int depositCount;
+    private int lossChasingEvents;
+    private int nightEvents;
+    private LocalDateTime flaggedAt;
+}
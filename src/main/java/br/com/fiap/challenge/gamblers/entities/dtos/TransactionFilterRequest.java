@@ -1,9 +1,24 @@
 package br.com.fiap.challenge.gamblers.entities.dtos;
 
 import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
 
 @Data
 public class TransactionFilterRequest {
     private String description;
     private String type;
+
+    // Optional [from, to) range on createdAt
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    // Opaque keyset cursor returned as nextCursor by the previous page
+    private String cursor;
+
+    // Requested page size, capped by the service
+    private Integer size;
 }
@@ -0,0 +1,22 @@
+package br.com.fiap.challenge.gamblers.entities.dtos;
+
+import br.com.fiap.challenge.gamblers.entities.IngestionStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Situação de uma transação recebida pela ingestão assíncrona")
+public class TransactionIngestionStatusDTO {
+    private UUID id;
+    private IngestionStatus status;
+    @Schema(description = "Motivo da falha, quando status = FAILED")
+    private String error;
+    @Schema(description = "Transação gravada, quando status = COMMITTED e ela ainda está em memória")
+    private TransactionDTO transaction;
+}
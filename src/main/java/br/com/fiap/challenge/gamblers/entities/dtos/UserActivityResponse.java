@@ -0,0 +1,25 @@
+package br.com.fiap.challenge.gamblers.entities.dtos;
+
+import br.com.fiap.challenge.gamblers.entities.ActivityGranularity;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Atividade de um usuário por período, lida dos agregados diários")
+public class UserActivityResponse {
+    private UUID userId;
+    private ActivityGranularity granularity;
+    @Schema(description = "Início do intervalo (inclusivo)")
+    private LocalDate from;
+    @Schema(description = "Fim do intervalo (exclusivo)")
+    private LocalDate to;
+    private List<ActivityBucketDTO> buckets;
+}
@@ -4,6 +4,13 @@ import lombok.Data;
 
 @Data
 public class UserFilterRequest {
+    // Case-insensitive; terms shorter than 3 characters match as a prefix
     private String name;
     private String email;
+
+    // Opaque keyset cursor returned as nextCursor by the previous page
+    private String cursor;
+
+    // Requested page size, capped by the service
+    private Integer size;
 }
@@ -0,0 +1,8 @@
+package br.com.fiap.challenge.gamblers.entities;
+
+public enum AnalyticsDimension {
+    TYPE,
+    USER,
+    HOUR,
+    DAY
+}
@@ -0,0 +1,6 @@
+package br.com.fiap.challenge.gamblers.entities;
+
+public enum ChangeEntity {
+    TRANSACTION,
+    USER
+}
@@ -0,0 +1,8 @@
+package br.com.fiap.challenge.gamblers.entities;
+
+public enum IngestionAck {
+    // Answer once the transaction's batch has committed
+    COMMIT,
+    // Answer as soon as the transaction is queued; lost if the instance stops before the batch commits
+    ENQUEUE
+}
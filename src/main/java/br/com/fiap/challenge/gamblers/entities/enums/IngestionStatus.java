@@ -0,0 +1,7 @@
+package br.com.fiap.challenge.gamblers.entities;
+
+public enum IngestionStatus {
+    PENDING,
+    COMMITTED,
+    FAILED
+}
@@ -0,0 +1,18 @@
+package br.com.fiap.challenge.gamblers.entities;
+
+public enum OutboxEventType {
+    TRANSACTION_CREATED(ChangeEntity.TRANSACTION),
+    TRANSACTION_UPDATED(ChangeEntity.TRANSACTION),
+    TRANSACTION_DELETED(ChangeEntity.TRANSACTION),
+    USER_CONSENT_CHANGED(ChangeEntity.USER);
+
+    private final ChangeEntity aggregate;
+
+    OutboxEventType(ChangeEntity aggregate) {
+        this.aggregate = aggregate;
+    }
+
+    public ChangeEntity aggregate() {
+        return aggregate;
+    }
+}
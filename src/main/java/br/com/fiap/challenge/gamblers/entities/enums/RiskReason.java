@@ -0,0 +1,9 @@
+package br.com.fiap.challenge.gamblers.entities;
+
+public enum RiskReason {
+    HIGH_BET_FREQUENCY,
+    HIGH_BET_VOLUME,
+    FREQUENT_DEPOSITS,
+    LOSS_CHASING,
+    NIGHT_ACTIVITY
+}
@@ -0,0 +1,47 @@
+package br.com.fiap.challenge.gamblers.entities.ids;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUIDs (RFC 9562 version 7): 48-bit Unix millis, a 12-bit counter in rand_a and
+ * 62 random bits. New ids sort after older ones, so primary key inserts append to the right edge
+ * of the B-tree instead of splitting random pages.
+ * Ids are strictly increasing within this JVM: a lock-free CAS on (millis, counter) bumps the counter
+ * inside a millisecond, and a counter overflow borrows the next millisecond.
+ */
+public final class UuidV7 {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    // Last (millis << 12 | counter) handed out
+    private static final AtomicLong last = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID next() {
+        long candidate = System.currentTimeMillis() << COUNTER_BITS;
+        long prev;
+        long stamp;
+        do {
+            prev = last.get();
+            stamp = Math.max(candidate, prev + 1);
+        } while (!last.compareAndSet(prev, stamp));
+
+        long msb = (stamp >>> COUNTER_BITS) << 16 | VERSION | (stamp & COUNTER_MASK);
+        long lsb = VARIANT | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new UUID(msb, lsb);
+    }
+
+    /** Creation time encoded in a version 7 id, in Unix millis. */
+    public static long timestamp(UUID id) {
+        if (id.version() != 7) throw new IllegalArgumentException("Not a version 7 UUID");
+        return id.getMostSignificantBits() >>> 16;
+    }
+}
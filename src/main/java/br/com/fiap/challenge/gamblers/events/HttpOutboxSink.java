@@ -0,0 +1,72 @@
+package br.com.fiap.challenge.gamblers.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * POSTs each batch of outbox events to app.outbox.http.url as one NDJSON body. Any 2xx answer
+ * acknowledges the whole batch; anything else, or a timeout, makes the dispatcher retry it.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.outbox", name = "sink", havingValue = "http")
+@RequiredArgsConstructor
+public class HttpOutboxSink implements OutboxSink {
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.outbox.http.url}")
+    private URI url;
+
+    @Value("${app.outbox.http.timeout:10s}")
+    private Duration timeout;
+
+    private HttpClient client;
+
+    @PostConstruct
+    public void init() {
+        client = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public String name() {
+        return "http";
+    }
+
+    @Override
+    public void deliver(List<OutboxMessage> batch) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(batch.size() * 256);
+        for (OutboxMessage message : batch) {
+            objectMapper.writeValue(body, message);
+            body.write('\n');
+        }
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header("Content-Type", NDJSON)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+        HttpResponse<Void> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while delivering to " + url, e);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Outbox endpoint " + url + " answered " + response.statusCode());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.fiap.challenge.gamblers.events;
+
+import br.com.fiap.challenge.gamblers.entities.ChangeEntity;
+import br.com.fiap.challenge.gamblers.entities.OutboxEventType;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Envelope handed to an {@link OutboxSink}. Delivery is at least once: consumers deduplicate on id.
+ */
+public record OutboxMessage(UUID id, OutboxEventType type, ChangeEntity aggregateType, UUID aggregateId,
+                            LocalDateTime createdAt, @JsonRawValue String payload) {
+}
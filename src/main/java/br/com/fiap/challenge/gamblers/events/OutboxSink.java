@@ -0,0 +1,14 @@
+package br.com.fiap.challenge.gamblers.events;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of outbox events, chosen with app.outbox.sink. A batch counts as delivered only when
+ * deliver returns normally; if it throws, the whole batch is retried later, so deliveries must be safe to repeat.
+ */
+public interface OutboxSink {
+    String name();
+
+    void deliver(List<OutboxMessage> batch) throws IOException;
+}
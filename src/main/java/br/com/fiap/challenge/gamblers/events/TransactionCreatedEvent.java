@@ -0,0 +1,10 @@
+package br.com.fiap.challenge.gamblers.events;
+
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionDTO;
+
+/**
+ * Published by TransactionService for every inserted transaction. Listeners that must only see
+ * committed data should use @TransactionalEventListener (AFTER_COMMIT).
+ */
+public record TransactionCreatedEvent(TransactionDTO transaction) {
+}
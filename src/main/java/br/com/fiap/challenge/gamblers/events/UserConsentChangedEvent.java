@@ -0,0 +1,10 @@
+package br.com.fiap.challenge.gamblers.events;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Outbox payload of UserService.setConsent.
+ */
+public record UserConsentChangedEvent(UUID userId, boolean consentGiven, LocalDateTime consentAt) {
+}
@@ -0,0 +1,20 @@
+package br.com.fiap.challenge.gamblers.exception;
+
+import java.time.Duration;
+
+/**
+ * A bounded resource is saturated and the request was shed instead of queued.
+ * Mapped to 503 with a Retry-After header.
+ */
+public class ServiceBusyException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public ServiceBusyException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.fiap.challenge.gamblers.exception;
+
+import java.time.Duration;
+
+/**
+ * The client is sending faster than a bounded queue drains (backpressure).
+ * Mapped to 429 with a Retry-After header.
+ */
+public class TooManyRequestsException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
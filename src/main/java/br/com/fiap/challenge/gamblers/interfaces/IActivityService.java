@@ -0,0 +1,12 @@
+package br.com.fiap.challenge.gamblers.interfaces;
+
+import br.com.fiap.challenge.gamblers.entities.ActivityGranularity;
+import br.com.fiap.challenge.gamblers.entities.dtos.UserActivityResponse;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface IActivityService {
+    UserActivityResponse getActivity(UUID userId, LocalDate from, LocalDate to, ActivityGranularity granularity);
+    long rebuildAll();
+}
@@ -0,0 +1,8 @@
+package br.com.fiap.challenge.gamblers.interfaces;
+
+import br.com.fiap.challenge.gamblers.entities.dtos.AnalyticsQueryRequest;
+import br.com.fiap.challenge.gamblers.entities.dtos.AnalyticsQueryResponse;
+
+public interface IAnalyticsService {
+    AnalyticsQueryResponse query(AnalyticsQueryRequest request);
+}
@@ -0,0 +1,10 @@
+package br.com.fiap.challenge.gamblers.interfaces;
+
+import br.com.fiap.challenge.gamblers.entities.dtos.BalanceDTO;
+
+import java.util.UUID;
+
+public interface IBalanceService {
+    BalanceDTO getBalance(UUID userId);
+    long rebuildAll();
+}
@@ -0,0 +1,7 @@
+package br.com.fiap.challenge.gamblers.interfaces;
+
+import br.com.fiap.challenge.gamblers.entities.dtos.ChangeFeedPage;
+
+public interface IChangeFeedService {
+    ChangeFeedPage changesSince(long since, Integer limit);
+}
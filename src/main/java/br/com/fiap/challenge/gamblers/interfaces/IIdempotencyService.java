@@ -0,0 +1,8 @@
+package br.com.fiap.challenge.gamblers.interfaces;
+
+import br.com.fiap.challenge.gamblers.entities.dtos.CreateTransactionDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionDTO;
+
+public interface IIdempotencyService {
+    TransactionDTO createTransaction(String idempotencyKey, CreateTransactionDTO dto);
+}
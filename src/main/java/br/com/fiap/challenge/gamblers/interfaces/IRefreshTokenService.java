@@ -0,0 +1,12 @@
+package br.com.fiap.challenge.gamblers.interfaces;
+
+import br.com.fiap.challenge.gamblers.entities.dtos.LoginResponse;
+
+import java.util.UUID;
+
+public interface IRefreshTokenService {
+    LoginResponse issue(String email);
+    LoginResponse refresh(String refreshToken);
+    void revoke(String refreshToken);
+    void revokeAll(UUID userId);
+}
@@ -0,0 +1,9 @@
+package br.com.fiap.challenge.gamblers.interfaces;
+
+import br.com.fiap.challenge.gamblers.entities.dtos.RiskFlagDTO;
+
+import java.util.List;
+
+public interface IRiskService {
+    List<RiskFlagDTO> findFlags(int limit);
+}
@@ -0,0 +1,12 @@
+package br.com.fiap.challenge.gamblers.interfaces;
+
+import br.com.fiap.challenge.gamblers.entities.dtos.CreateTransactionDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionIngestionStatusDTO;
+
+import java.util.UUID;
+
+public interface ITransactionIngestionService {
+    boolean isEnabled();
+    TransactionIngestionStatusDTO submit(CreateTransactionDTO dto);
+    TransactionIngestionStatusDTO status(UUID id);
+}
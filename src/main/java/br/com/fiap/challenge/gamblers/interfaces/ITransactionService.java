@@ -1,15 +1,24 @@
 package br.com.fiap.challenge.gamblers.interfaces;
 
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import br.com.fiap.challenge.gamblers.entities.dtos.BulkTransactionResponse;
 import br.com.fiap.challenge.gamblers.entities.dtos.CreateTransactionDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.CursorPage;
 import br.com.fiap.challenge.gamblers.entities.dtos.TransactionDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionFilterRequest;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 public interface ITransactionService {
     TransactionDTO create(CreateTransactionDTO dto);
-    List<TransactionDTO> findByUser(UUID userId);
-    List<TransactionDTO> findAll(String description, String type);
+    BulkTransactionResponse createBulk(List<CreateTransactionDTO> dtos);
+    List<TransactionDTO> findByUser(UUID userId, LocalDateTime from, LocalDateTime to);
+    CursorPage<TransactionDTO> findAll(TransactionFilterRequest filter);
+    void exportTo(OutputStream out, LocalDateTime from, LocalDateTime to, TransactionType type) throws IOException;
     TransactionDTO findById(UUID id);
     void delete(UUID id);
     TransactionDTO update(UUID id, CreateTransactionDTO dto);
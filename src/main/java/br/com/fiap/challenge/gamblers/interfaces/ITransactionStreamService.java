@@ -0,0 +1,10 @@
+package br.com.fiap.challenge.gamblers.interfaces;
+
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+public interface ITransactionStreamService {
+    SseEmitter subscribe(UUID userId, TransactionType type);
+}
@@ -0,0 +1,21 @@
+package br.com.fiap.challenge.gamblers.repositories;
+
+import br.com.fiap.challenge.gamblers.entities.ChangeEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ChangeEventRepository extends JpaRepository<ChangeEvent, Long> {
+
+    // Seeks on the primary key: a page costs the same however long the feed is
+    List<ChangeEvent> findBySeqGreaterThanOrderBySeq(long seq, Limit limit);
+
+    @Modifying
+    @Query("delete from ChangeEvent e where e.changedAt < :before")
+    int deleteChangedBefore(@Param("before") LocalDateTime before);
+}
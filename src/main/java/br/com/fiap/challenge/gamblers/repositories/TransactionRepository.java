@@ -1,11 +1,68 @@
 package br.com.fiap.challenge.gamblers.repositories;
 
 import br.com.fiap.challenge.gamblers.entities.Transaction;
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
-    List<Transaction> findByUserId(UUID userId);
+public interface TransactionRepository extends JpaRepository<Transaction, UUID>, JpaSpecificationExecutor<Transaction> {
+    int EXPORT_FETCH_SIZE = 1000;
+
+    // Reads user_id from the transactions row; no join with users. The createdAt bounds let Postgres prune monthly partitions
+    @Query("select new br.com.fiap.challenge.gamblers.entities.dtos.TransactionDTO(t.id, t.user.id, t.amount, t.description, t.type, t.createdAt) " +
+            "from Transaction t where t.user.id = :userId and t.createdAt >= :from and t.createdAt < :to")
+    List<TransactionDTO> findDTOsByUserId(@Param("userId") UUID userId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Current state of the transactions referenced by a page of the change feed
+    @Query("select new br.com.fiap.challenge.gamblers.entities.dtos.TransactionDTO(t.id, t.user.id, t.amount, t.description, t.type, t.createdAt) " +
+            "from Transaction t where t.id in :ids")
+    List<TransactionDTO> findDTOsByIds(@Param("ids") Collection<UUID> ids);
+
+    // Rows of [userId, type, sum(amount)] used to rebuild the balance ledger; needs the full history, so no time bounds
+    @Query("select t.user.id, t.type, sum(t.amount) from Transaction t where t.user.id in :userIds group by t.user.id, t.type")
+    List<Object[]> sumAmountsByUserAndType(@Param("userIds") Collection<UUID> userIds);
+
+    // Rows of [userId, day, type, count, sum, min, max] used to rebuild the daily activity rollups
+    @Query("select t.user.id, extract(date from t.createdAt), t.type, count(t), sum(t.amount), min(t.amount), max(t.amount) " +
+            "from Transaction t where t.user.id in :userIds group by t.user.id, extract(date from t.createdAt), t.type")
+    List<Object[]> aggregateDailyByUsers(@Param("userIds") Collection<UUID> userIds);
+
+    // Rows of [min, max] of one user's other transactions of a type in [from, to); empty group gives nulls
+    @Query("select min(t.amount), max(t.amount) from Transaction t " +
+            "where t.user.id = :userId and t.type = :type and t.createdAt >= :from and t.createdAt < :to and t.id <> :excludedId")
+    List<Object[]> findAmountRange(@Param("userId") UUID userId, @Param("type") TransactionType type,
+                                   @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, @Param("excludedId") UUID excludedId);
+
+    // DTO projection: rows are not managed, so the persistence context stays empty while streaming
+    @Query("select new br.com.fiap.challenge.gamblers.entities.dtos.TransactionDTO(t.id, t.user.id, t.amount, t.description, t.type, t.createdAt) " +
+            "from Transaction t where t.createdAt >= :from and t.createdAt < :to and (:type is null or t.type = :type) " +
+            "order by t.createdAt, t.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    Stream<TransactionDTO> streamForExport(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to, @Param("type") TransactionType type);
+
+    // One user's transactions, read before a user delete cascades to them
+    @Query("select new br.com.fiap.challenge.gamblers.entities.dtos.TransactionDTO(t.id, t.user.id, t.amount, t.description, t.type, t.createdAt) " +
+            "from Transaction t where t.user.id = :userId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    Stream<TransactionDTO> streamDTOsByUserId(@Param("userId") UUID userId);
+
+    // Rows of [id, userId, createdAt, amount, type] after the given (createdAt, id) position, loaded into the analytics snapshot
+    @Query("select t.id, t.user.id, t.createdAt, t.amount, t.type from Transaction t " +
+            "where (t.createdAt > :createdAt or (t.createdAt = :createdAt and t.id > :id)) and t.createdAt < :until " +
+            "order by t.createdAt, t.id")
+    List<Object[]> findColumnsAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id,
+                                    @Param("until") LocalDateTime until, Limit limit);
 }
@@ -0,0 +1,22 @@
+package br.com.fiap.challenge.gamblers.repositories;
+
+import br.com.fiap.challenge.gamblers.entities.UserBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface UserBalanceRepository extends JpaRepository<UserBalance, UUID> {
+
+    // Atomic in-place increment: concurrent writers serialize on the row lock instead of losing updates
+    @Modifying(flushAutomatically = true)
+    @Query("update UserBalance b set b.balance = b.balance + :deposits - :withdrawals - :bets, " +
+            "b.totalDeposits = b.totalDeposits + :deposits, b.totalWithdrawals = b.totalWithdrawals + :withdrawals, " +
+            "b.totalBets = b.totalBets + :bets, b.version = b.version + 1, b.updatedAt = :now where b.userId = :userId")
+    int applyDelta(@Param("userId") UUID userId, @Param("deposits") BigDecimal deposits, @Param("withdrawals") BigDecimal withdrawals,
+                   @Param("bets") BigDecimal bets, @Param("now") LocalDateTime now);
+}
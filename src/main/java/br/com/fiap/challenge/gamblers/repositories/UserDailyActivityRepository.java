@@ -0,0 +1,42 @@
+package br.com.fiap.challenge.gamblers.repositories;
+
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import br.com.fiap.challenge.gamblers.entities.UserDailyActivity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface UserDailyActivityRepository extends JpaRepository<UserDailyActivity, UserDailyActivity.Key> {
+
+    // Atomic in-place merge, like the balance ledger: concurrent writers serialize on the row lock
+    @Modifying(flushAutomatically = true)
+    @Query("update UserDailyActivity a set a.transactionCount = a.transactionCount + :count, a.totalAmount = a.totalAmount + :amount, " +
+            "a.minAmount = least(a.minAmount, :min), a.maxAmount = greatest(a.maxAmount, :max), a.version = a.version + 1, a.updatedAt = :now " +
+            "where a.userId = :userId and a.day = :day and a.type = :type")
+    int applyCreated(@Param("userId") UUID userId, @Param("day") LocalDate day, @Param("type") TransactionType type,
+                     @Param("count") long count, @Param("amount") BigDecimal amount,
+                     @Param("min") BigDecimal min, @Param("max") BigDecimal max, @Param("now") LocalDateTime now);
+
+    // Removals may have to recompute min/max, so they lock the row and update it in memory
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from UserDailyActivity a where a.userId = :userId and a.day = :day and a.type = :type")
+    Optional<UserDailyActivity> findForUpdate(@Param("userId") UUID userId, @Param("day") LocalDate day, @Param("type") TransactionType type);
+
+    @Query("select a from UserDailyActivity a where a.userId = :userId and a.day >= :from and a.day < :to order by a.day, a.type")
+    List<UserDailyActivity> findRange(@Param("userId") UUID userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("delete from UserDailyActivity a where a.userId in :userIds")
+    int deleteByUserIds(@Param("userIds") Collection<UUID> userIds);
+}
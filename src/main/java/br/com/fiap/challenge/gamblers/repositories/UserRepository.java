@@ -1,11 +1,47 @@
 package br.com.fiap.challenge.gamblers.repositories;
 
 import br.com.fiap.challenge.gamblers.entities.User;
+import br.com.fiap.challenge.gamblers.entities.dtos.UserDTO;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificationExecutor<User> {
     Optional<User> findByEmail(String email);
+
+    @Query("select u.email from User u where u.id = :id")
+    Optional<String> findEmailById(@Param("id") UUID id);
+
+    @Query("select u.id from User u where u.email = :email")
+    Optional<UUID> findIdByEmail(@Param("email") String email);
+
+    @Query("select u.id from User u where u.id in :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    // Current state of the users referenced by a page of the change feed
+    @Query("select new br.com.fiap.challenge.gamblers.entities.dtos.UserDTO(u.id, u.name, u.email, u.admin, u.createdAt, u.consentGiven, u.consentAt) " +
+            "from User u where u.id in :ids")
+    List<UserDTO> findDTOsByIds(@Param("ids") Collection<UUID> ids);
+
+    // Keyset walk over user ids for batch jobs
+    @Query("select u.id from User u where u.id > :after order by u.id")
+    List<UUID> findIdsAfter(@Param("after") UUID after, Limit limit);
+
+    // Row locks that conflict with the key-share lock Postgres takes when a transaction row referencing the user is inserted
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from User u where u.id in :ids order by u.id")
+    List<User> lockAllById(@Param("ids") Collection<UUID> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select u from User u where u.id = :id")
+    Optional<User> lockForShare(@Param("id") UUID id);
 }
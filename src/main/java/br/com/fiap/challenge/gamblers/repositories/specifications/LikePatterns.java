@@ -0,0 +1,15 @@
+package br.com.fiap.challenge.gamblers.repositories.specifications;
+
+final class LikePatterns {
+
+    // Escape character passed to cb.like(..., ESCAPE) alongside patterns built by escape()
+    static final char ESCAPE = '\\';
+
+    private LikePatterns() {
+    }
+
+    // User input is matched literally: %, _ and the escape character itself lose their LIKE meaning
+    static String escape(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.fiap.challenge.gamblers.repositories.specifications;
+
+import br.com.fiap.challenge.gamblers.entities.Transaction;
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {
+    }
+
+    public static Specification<Transaction> descriptionContains(String description) {
+        if (description == null || description.isBlank()) return null;
+        String pattern = "%" + LikePatterns.escape(description.toLowerCase()) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("description")), pattern, LikePatterns.ESCAPE);
+    }
+
+    public static Specification<Transaction> hasType(TransactionType type) {
+        if (type == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("type"), type);
+    }
+
+    // Half-open [from, to) range on createdAt; either side may be open. Bounds let Postgres prune monthly partitions
+    public static Specification<Transaction> createdBetween(LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) return null;
+        return (root, query, cb) -> {
+            if (from == null) return cb.lessThan(root.get("createdAt"), to);
+            if (to == null) return cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+            return cb.and(cb.greaterThanOrEqualTo(root.get("createdAt"), from), cb.lessThan(root.get("createdAt"), to));
+        };
+    }
+
+    // Seek predicate for (createdAt DESC, id DESC): rows strictly after the given position. The redundant
+    // createdAt <= bound is what lets Postgres prune the newer monthly partitions; it cannot from the OR alone
+    public static Specification<Transaction> after(LocalDateTime createdAt, UUID id) {
+        if (createdAt == null || id == null) return null;
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("createdAt"), createdAt),
+                cb.or(
+                        cb.lessThan(root.get("createdAt"), createdAt),
+                        cb.and(cb.equal(root.get("createdAt"), createdAt), cb.lessThan(root.get("id"), id))));
+    }
+}
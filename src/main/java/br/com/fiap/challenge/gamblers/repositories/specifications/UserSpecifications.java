@@ -0,0 +1,40 @@
+package br.com.fiap.challenge.gamblers.repositories.specifications;
+
+import br.com.fiap.challenge.gamblers.entities.User;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public final class UserSpecifications {
+
+    // Shorter terms yield no trigrams, so they are matched as prefixes against the text_pattern_ops indexes
+    static final int MIN_CONTAINS_LENGTH = 3;
+
+    private UserSpecifications() {
+    }
+
+    public static Specification<User> nameMatches(String name) {
+        return matches("name", name);
+    }
+
+    public static Specification<User> emailMatches(String email) {
+        return matches("email", email);
+    }
+
+    // Seek predicate for (createdAt DESC, id DESC): rows strictly after the given position
+    public static Specification<User> after(LocalDateTime createdAt, UUID id) {
+        if (createdAt == null || id == null) return null;
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), createdAt),
+                cb.and(cb.equal(root.get("createdAt"), createdAt), cb.lessThan(root.get("id"), id)));
+    }
+
+    // lower(column) LIKE pattern is portable (H2 in tests) and matches the lower(...) expression indexes on Postgres
+    private static Specification<User> matches(String attribute, String term) {
+        if (term == null || term.isBlank()) return null;
+        String value = LikePatterns.escape(term.trim().toLowerCase());
+        String pattern = value.length() < MIN_CONTAINS_LENGTH ? value + "%" : "%" + value + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get(attribute)), pattern, LikePatterns.ESCAPE);
+    }
+}
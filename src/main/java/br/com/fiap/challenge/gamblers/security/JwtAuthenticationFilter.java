@@ -1,5 +1,9 @@
 package br.com.fiap.challenge.gamblers.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,11 +13,14 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
@@ -23,19 +30,59 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenRevocationStore revocationStore;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer validTimer;
+    private Timer invalidTimer;
+    private Timer revokedTimer;
+
+    @PostConstruct
+    public void init() {
+        validTimer = verifyTimer("valid");
+        invalidTimer = verifyTimer("invalid");
+        revokedTimer = verifyTimer("revoked");
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String header = request.getHeader("Authorization");
         if (StringUtils.hasText(header) && header.startsWith("Bearer ")) {
             String token = header.substring(7);
-            if (jwtUtil.isTokenValid(token)) {
-                String username = jwtUtil.parseClaims(token).getSubject();
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(auth);
+            long started = System.nanoTime();
+            Optional<Claims> claims = jwtUtil.verify(token);
+            // In-memory check; revoked tokens (logout, account deletion) stay unauthenticated
+            boolean revoked = claims.isPresent() && revocationStore.isRevoked(claims.get().getId());
+            Timer timer = claims.isEmpty() ? invalidTimer : revoked ? revokedTimer : validTimer;
+            timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            if (claims.isPresent() && !revoked) {
+                authenticate(request, claims.get().getSubject());
             }
         }
         filterChain.doFilter(request, response);
     }
+
+    private Timer verifyTimer(String outcome) {
+        return Timer.builder("jwt.verify").tag("outcome", outcome)
+                .description("Bearer token signature, expiration and revocation check").register(meterRegistry);
+    }
+
+    private void authenticate(HttpServletRequest request, String username) {
+        UserDetails userDetails;
+        try {
+            userDetails = principalCache.get(username, userDetailsService::loadUserByUsername);
+        } catch (UsernameNotFoundException e) {
+            // Account deleted after the token was issued
+            return;
+        }
+        UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(auth);
+    }
 }
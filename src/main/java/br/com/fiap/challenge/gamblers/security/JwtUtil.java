@@ -1,6 +1,8 @@
 package br.com.fiap.challenge.gamblers.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -13,6 +15,7 @@ import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.Optional;
 import java.util.UUID;
 
 @Component
@@ -28,6 +31,9 @@ public class JwtUtil {
 
     private Key key;
 
+    // Thread-safe and immutable: built once instead of per call
+    private JwtParser parser;
+
     @PostConstruct
     public void init() {
         try {
@@ -38,12 +44,17 @@ public class JwtUtil {
                     "PRODUCTION: please set 'app.jwt.secret' to a secure 32+ byte value.", ex.getMessage());
             this.key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
         }
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
     public String generateToken(String subject) {
+        return generateToken(subject, UUID.randomUUID().toString());
+    }
+
+    // The caller keeps the jti to be able to revoke the token later
+    public String generateToken(String subject, String jti) {
         Date now = new Date();
         Date exp = new Date(now.getTime() + expirationMs);
-        String jti = UUID.randomUUID().toString();
 
         return Jwts.builder()
                 .setSubject(subject)
@@ -54,8 +65,26 @@ public class JwtUtil {
                 .compact();
     }
 
+    public long getExpirationMs() {
+        return expirationMs;
+    }
+
     public Claims parseClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Verifies signature and expiration in a single parse and returns the claims,
+     * or empty when the token is malformed, tampered with, expired or has no expiration.
+     */
+    public Optional<Claims> verify(String token) {
+        try {
+            Claims claims = parseClaims(token);
+            return claims.getExpiration() != null ? Optional.of(claims) : Optional.empty();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected JWT: {}", e.getMessage());
+            return Optional.empty();
+        }
     }
 
     public String getJti(String token) {
@@ -77,11 +106,6 @@ public class JwtUtil {
     }
 
     public boolean isTokenValid(String token) {
-        try {
-            Claims claims = parseClaims(token);
-            return claims.getExpiration().after(new Date());
-        } catch (Exception e) {
-            return false;
-        }
+        return verify(token).isPresent();
     }
 }
@@ -0,0 +1,85 @@
+package br.com.fiap.challenge.gamblers.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based cache of authenticated principals keyed by JWT subject (the user's email),
+ * so authenticated requests do not hit the users table every time.
+ * UserService invalidates entries whenever a user changes or is removed. Entries are futures: a load in
+ * flight when the user changes is discarded by the invalidation instead of being cached once it completes.
+ */
+@Component
+public class PrincipalCache {
+
+    @Value("${app.security.principal-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.security.principal-cache.ttl:5m}")
+    private Duration ttl;
+
+    private AsyncCache<String, UserDetails> cache;
+
+    @PostConstruct
+    public void init() {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .buildAsync();
+    }
+
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        // The loader runs on this thread, not inside ConcurrentHashMap.compute, which holds a monitor and would
+        // pin the carrier thread for the whole database round trip under virtual threads
+        CompletableFuture<UserDetails> mine = new CompletableFuture<>();
+        CompletableFuture<UserDetails> existing = cache.asMap().putIfAbsent(username, mine);
+        if (existing != null) return join(existing);
+        try {
+            UserDetails details = loader.apply(username);
+            // The filter only needs authorities; do not keep password hashes around
+            if (details instanceof CredentialsContainer container) container.eraseCredentials();
+            // If invalidate removed our future meanwhile, completing it no longer caches anything
+            mine.complete(details);
+            return details;
+        } catch (RuntimeException e) {
+            // Failed futures are dropped by the cache; concurrent waiters see the same exception
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static UserDetails join(CompletableFuture<UserDetails> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw e;
+        }
+    }
+
+    public void invalidate(String username) {
+        if (username == null) return;
+        cache.synchronous().invalidate(username);
+        // Inside a transaction, a concurrent request could reload the old row before the commit; drop it again afterwards
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.synchronous().invalidate(username);
+                }
+            });
+        }
+    }
+}
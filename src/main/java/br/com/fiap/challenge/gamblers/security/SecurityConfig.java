@@ -1,5 +1,8 @@
 package br.com.fiap.challenge.gamblers.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -12,13 +15,19 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 @Configuration
 @EnableMethodSecurity
 public class SecurityConfig {
 
-    @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    // Used by UserService and by the AuthenticationManager when verifying logins
+    @Bean(destroyMethod = "shutdown")
+    public BCryptPasswordEncoder passwordEncoder(@Value("${app.security.hashing.threads:0}") int threads,
+                                                 @Value("${app.security.hashing.queue-capacity:64}") int queueCapacity,
+                                                 @Value("${app.security.hashing.timeout:5s}") Duration timeout,
+                                                 MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(threads, queueCapacity, timeout, meterRegistry);
     }
 
     @Bean
@@ -26,6 +35,14 @@ public class SecurityConfig {
         return new JwtAuthenticationFilter();
     }
 
+    // Runs inside the security chain only; as a plain servlet filter it would run after authorization
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration(JwtAuthenticationFilter filter) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -35,7 +52,9 @@ public class SecurityConfig {
                 .authorizeHttpRequests()
        .requestMatchers(
             "/api/auth/**",
-            "/actuator/**",
+            "/actuator/health",
+            "/actuator/health/**",
+            "/actuator/info",
             "/v3/api-docs",
             "/v3/api-docs/**",
             "/swagger-ui.html",
@@ -45,8 +64,11 @@ public class SecurityConfig {
             "/webjars/**"
         ).permitAll()
         .requestMatchers(HttpMethod.POST, "/api/users").permitAll()
+        // Metrics expose traffic and data volumes; scrape them with an admin bearer token
+        .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
-                .and();
+                .and()
+                .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
 
 
         return http.build();
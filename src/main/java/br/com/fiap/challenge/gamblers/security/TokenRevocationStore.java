@@ -0,0 +1,134 @@
+package br.com.fiap.challenge.gamblers.security;
+
+import br.com.fiap.challenge.gamblers.entities.RevokedToken;
+import br.com.fiap.challenge.gamblers.repositories.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Revoked access tokens, keyed by jti. The revoked_tokens table is the source of truth; every instance keeps
+ * the ones not yet expired in memory and checks a Bloom filter first, so the usual not-revoked answer needs
+ * neither I/O nor a map lookup. Revocations made by other instances are picked up by {@link #refresh()}.
+ */
+@Component
+public class TokenRevocationStore {
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationStore.class);
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final LocalDateTime MIN_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${app.security.revocation.expected-tokens:100000}")
+    private int expectedTokens;
+
+    // Rows are re-read this far back on every refresh, to cover commit delays and clock skew between instances
+    @Value("${app.security.revocation.refresh-overlap:1m}")
+    private Duration refreshOverlap;
+
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+    // Writers hold the lock so a rebuild never drops a concurrent revocation; readers never lock
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile BloomFilter bloom;
+    private int bloomCapacity;
+    private LocalDateTime lastRefresh = MIN_TIME;
+
+    public TokenRevocationStore(RevokedTokenRepository revokedTokenRepository) {
+        this.revokedTokenRepository = revokedTokenRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        bloomCapacity = expectedTokens;
+        bloom = new BloomFilter(bloomCapacity, FALSE_POSITIVE_RATE);
+        refresh();
+    }
+
+    public boolean isRevoked(String jti) {
+        return jti != null && bloom.mightContain(jti) && revoked.containsKey(jti);
+    }
+
+    @Transactional
+    public void revoke(String jti, LocalDateTime expiresAt) {
+        LocalDateTime now = LocalDateTime.now();
+        if (jti == null || !expiresAt.isAfter(now) || revoked.containsKey(jti)) return;
+        revokedTokenRepository.save(RevokedToken.builder().jti(jti).expiresAt(expiresAt).revokedAt(now).build());
+        addOnCommit(jti, expiresAt);
+    }
+
+    /** Loads revocations made since the last refresh (by any instance) and drops expired entries. */
+    @Scheduled(fixedDelayString = "${app.security.revocation.refresh-interval-ms:10000}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> recent = revokedTokenRepository.findActiveRevokedSince(lastRefresh.minus(refreshOverlap), now);
+        lastRefresh = now;
+        for (RevokedToken token : recent) {
+            if (!revoked.containsKey(token.getJti())) add(token.getJti(), token.getExpiresAt());
+        }
+        evictExpired(now);
+    }
+
+    @Scheduled(cron = "${app.security.revocation.cleanup-cron:0 45 3 * * *}")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) log.info("Deleted {} expired token revocations", deleted);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    // Revoke joins the caller's transaction; a rollback must not leave this instance rejecting a still valid token
+    private void addOnCommit(String jti, LocalDateTime expiresAt) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(jti, expiresAt);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(jti, expiresAt);
+            }
+        });
+    }
+
+    private void add(String jti, LocalDateTime expiresAt) {
+        writeLock.lock();
+        try {
+            revoked.put(jti, expiresAt);
+            bloom.put(jti);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // A Bloom filter cannot forget, so it is rebuilt from the remaining entries after evicting,
+    // and resized when it holds more entries than it was sized for
+    private void evictExpired(LocalDateTime now) {
+        boolean evicted = revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        if (!evicted && revoked.size() <= bloomCapacity) return;
+        writeLock.lock();
+        try {
+            bloomCapacity = Math.max(expectedTokens, revoked.size() * 2);
+            BloomFilter rebuilt = new BloomFilter(bloomCapacity, FALSE_POSITIVE_RATE);
+            revoked.keySet().forEach(rebuilt::put);
+            bloom = rebuilt;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package br.com.fiap.challenge.gamblers.services;
+
+import br.com.fiap.challenge.gamblers.entities.ActivityGranularity;
+import br.com.fiap.challenge.gamblers.entities.Transaction;
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import br.com.fiap.challenge.gamblers.entities.UserDailyActivity;
+import br.com.fiap.challenge.gamblers.entities.dtos.ActivityBucketDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.UserActivityResponse;
+import br.com.fiap.challenge.gamblers.exception.NotFoundException;
+import br.com.fiap.challenge.gamblers.interfaces.IActivityService;
+import br.com.fiap.challenge.gamblers.repositories.TransactionRepository;
+import br.com.fiap.challenge.gamblers.repositories.UserDailyActivityRepository;
+import br.com.fiap.challenge.gamblers.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Per-user daily rollups (count, sum, min, max per transaction type). Kept up to date inside the writing
+ * transaction, like the balance ledger, so activity charts read hundreds of rollup rows instead of the raw
+ * transactions. {@link #rebuildAll()} recomputes them from the transactions table in parallel chunks of users.
+ */
+@Service
+@RequiredArgsConstructor
+public class ActivityService implements IActivityService {
+    private static final Logger log = LoggerFactory.getLogger(ActivityService.class);
+    static final int DEFAULT_RANGE_DAYS = 365;
+    private static final String INSERT =
+            "insert into user_daily_activity (user_id, activity_date, type, transaction_count, total_amount, min_amount, max_amount, version, updated_at) " +
+            "values (?, ?, ?, ?, ?, ?, ?, 0, ?)";
+
+    private final UserDailyActivityRepository activityRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.activity.rebuild-batch-size:500}")
+    private int rebuildBatchSize;
+
+    @Value("${app.activity.rebuild-threads:4}")
+    private int rebuildThreads;
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserActivityResponse getActivity(UUID userId, LocalDate from, LocalDate to, ActivityGranularity granularity) {
+        ActivityGranularity unit = granularity != null ? granularity : ActivityGranularity.DAY;
+        LocalDate upper = to != null ? to : LocalDate.now().plusDays(1);
+        LocalDate lower = from != null ? from : upper.minusDays(DEFAULT_RANGE_DAYS);
+        if (!lower.isBefore(upper)) throw new IllegalArgumentException("'from' must be before 'to'");
+        if (!userRepository.existsById(userId)) throw new NotFoundException("User not found");
+
+        // Rows come ordered by (day, type), so merged buckets keep that order
+        Map<BucketKey, Stats> buckets = new LinkedHashMap<>();
+        for (UserDailyActivity row : activityRepository.findRange(userId, lower, upper)) {
+            buckets.merge(new BucketKey(periodStart(row.getDay(), unit), row.getType()), Stats.of(row), Stats::plus);
+        }
+        List<ActivityBucketDTO> result = new ArrayList<>(buckets.size());
+        buckets.forEach((key, stats) -> result.add(ActivityBucketDTO.builder()
+                .period(key.period())
+                .type(key.type())
+                .count(stats.count())
+                .amount(stats.sum())
+                .minAmount(stats.min())
+                .maxAmount(stats.max())
+                .build()));
+        result.sort(Comparator.comparing(ActivityBucketDTO::getPeriod).thenComparing(ActivityBucketDTO::getType));
+        return UserActivityResponse.builder()
+                .userId(userId)
+                .granularity(unit)
+                .from(lower)
+                .to(upper)
+                .buckets(result)
+                .build();
+    }
+
+    // Called inside the caller's transaction so the rollups commit or roll back with the transaction row
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyCreated(Transaction tx) {
+        apply(RollupKey.of(tx), Stats.of(tx.getAmount()));
+    }
+
+    // Bulk variant: one rollup update per (user, day, type) instead of one per transaction
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyCreatedAll(Collection<Transaction> txs) {
+        Map<RollupKey, Stats> byKey = new HashMap<>();
+        for (Transaction tx : txs) {
+            byKey.merge(RollupKey.of(tx), Stats.of(tx.getAmount()), Stats::plus);
+        }
+        byKey.forEach(this::apply);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyRemoved(Transaction tx) {
+        RollupKey key = RollupKey.of(tx);
+        // Serializes with a running rebuild of this user, which holds the user row for update
+        userRepository.lockForShare(key.userId());
+        UserDailyActivity row = activityRepository.findForUpdate(key.userId(), key.day(), key.type()).orElse(null);
+        // No row: the transaction predates the rollups and a rebuild has not run yet
+        if (row == null) return;
+        if (row.getTransactionCount() <= 1) {
+            activityRepository.delete(row);
+            return;
+        }
+        BigDecimal amount = tx.getAmount();
+        row.setTransactionCount(row.getTransactionCount() - 1);
+        row.setTotalAmount(row.getTotalAmount().subtract(amount));
+        row.setUpdatedAt(LocalDateTime.now());
+        if (amount.compareTo(row.getMinAmount()) == 0 || amount.compareTo(row.getMaxAmount()) == 0) {
+            // The removed amount was an extreme: recompute it from that day's other transactions
+            Object[] range = transactionRepository.findAmountRange(key.userId(), key.type(),
+                    key.day().atStartOfDay(), key.day().plusDays(1).atStartOfDay(), tx.getId()).get(0);
+            if (range[0] != null) {
+                row.setMinAmount((BigDecimal) range[0]);
+                row.setMaxAmount((BigDecimal) range[1]);
+            }
+        }
+    }
+
+    private void apply(RollupKey key, Stats stats) {
+        LocalDateTime now = LocalDateTime.now();
+        if (applyStats(key, stats, now)) return;
+        // First transaction of this type on this day
+        if (InsertIfAbsent.execute(jdbcTemplate, INSERT, key.userId(), key.day(), key.type().name(),
+                stats.count(), stats.sum(), stats.min(), stats.max(), now)) return;
+        // A concurrent first transaction inserted the row and committed meanwhile: add to it instead
+        if (!applyStats(key, stats, now)) throw new IllegalStateException("Activity row " + key + " disappeared");
+    }
+
+    private boolean applyStats(RollupKey key, Stats stats, LocalDateTime now) {
+        return activityRepository.applyCreated(key.userId(), key.day(), key.type(), stats.count(), stats.sum(), stats.min(), stats.max(), now) > 0;
+    }
+
+    /**
+     * Recomputes every rollup from the transactions table. Chunks of users run in parallel, each in its own
+     * database transaction that locks its users first: on Postgres that blocks transactions being inserted for
+     * them until the chunk commits, so live writes are neither lost nor counted twice.
+     * Like the balance rebuild, only transactions still in the table (not archived partitions) are counted.
+     */
+    @Override
+    public long rebuildAll() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        Deque<Future<Integer>> inFlight = new ArrayDeque<>();
+        long processed = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, rebuildThreads),
+                Thread.ofPlatform().name("activity-rebuild-", 1).factory())) {
+            UUID after = new UUID(0L, 0L);
+            while (true) {
+                List<UUID> ids = userRepository.findIdsAfter(after, Limit.of(rebuildBatchSize));
+                if (ids.isEmpty()) break;
+                inFlight.add(executor.submit(() -> template.execute(status -> rebuildChunk(ids))));
+                if (inFlight.size() >= rebuildThreads) processed += await(inFlight.poll());
+                after = ids.get(ids.size() - 1);
+            }
+            while (!inFlight.isEmpty()) processed += await(inFlight.poll());
+        }
+        log.info("Rebuilt daily activity rollups for {} users", processed);
+        return processed;
+    }
+
+    private int rebuildChunk(List<UUID> userIds) {
+        userRepository.lockAllById(userIds);
+        activityRepository.deleteByUserIds(userIds);
+        LocalDateTime now = LocalDateTime.now();
+        List<UserDailyActivity> rows = new ArrayList<>();
+        for (Object[] row : transactionRepository.aggregateDailyByUsers(userIds)) {
+            rows.add(UserDailyActivity.builder()
+                    .userId((UUID) row[0])
+                    .day((LocalDate) row[1])
+                    .type((TransactionType) row[2])
+                    .transactionCount((Long) row[3])
+                    .totalAmount((BigDecimal) row[4])
+                    .minAmount((BigDecimal) row[5])
+                    .maxAmount((BigDecimal) row[6])
+                    .updatedAt(now)
+                    .build());
+        }
+        activityRepository.saveAll(rows);
+        return userIds.size();
+    }
+
+    private static int await(Future<Integer> chunk) {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rebuilding activity rollups", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    static LocalDate periodStart(LocalDate day, ActivityGranularity granularity) {
+        return switch (granularity) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+            case YEAR -> day.withDayOfYear(1);
+        };
+    }
+
+    private record RollupKey(UUID userId, LocalDate day, TransactionType type) {
+        static RollupKey of(Transaction tx) {
+            return new RollupKey(tx.getUser().getId(), tx.getCreatedAt().toLocalDate(), tx.getType());
+        }
+    }
+
+    private record BucketKey(LocalDate period, TransactionType type) {
+    }
+
+    private record Stats(long count, BigDecimal sum, BigDecimal min, BigDecimal max) {
+        static Stats of(BigDecimal amount) {
+            return new Stats(1, amount, amount, amount);
+        }
+
+        static Stats of(UserDailyActivity row) {
+            return new Stats(row.getTransactionCount(), row.getTotalAmount(), row.getMinAmount(), row.getMaxAmount());
+        }
+
+        Stats plus(Stats other) {
+            return new Stats(count + other.count, sum.add(other.sum), min.min(other.min), max.max(other.max));
+        }
+    }
+}
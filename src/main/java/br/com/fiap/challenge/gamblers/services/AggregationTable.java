@@ -0,0 +1,95 @@
+package br.com.fiap.challenge.gamblers.services;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Open-addressing hash table from a packed group key to (count, sum), used by the analytics scans.
+ * Primitive arrays only, so aggregating a row never allocates. Not thread-safe: each scan task
+ * fills its own table and the tables are merged afterwards.
+ */
+final class AggregationTable {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private long[] counts;
+    private long[] sums;
+    private int size;
+
+    AggregationTable() {
+        allocate(64);
+    }
+
+    void add(long key, long count, long sum) {
+        int slot = slot(key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            size++;
+        }
+        counts[slot] += count;
+        sums[slot] += sum;
+        if (size * 2 > keys.length) rehash();
+    }
+
+    AggregationTable merge(AggregationTable other) {
+        AggregationTable big = size >= other.size ? this : other;
+        AggregationTable small = big == this ? other : this;
+        for (int i = 0; i < small.keys.length; i++) {
+            if (small.keys[i] != EMPTY) big.add(small.keys[i], small.counts[i], small.sums[i]);
+        }
+        return big;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEachKey(LongConsumer action) {
+        for (long key : keys) {
+            if (key != EMPTY) action.accept(key);
+        }
+    }
+
+    long count(long key) {
+        return counts[slot(key)];
+    }
+
+    long sum(long key) {
+        return sums[slot(key)];
+    }
+
+    // Linear probing; the table is kept at most half full
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int slot = (int) mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys, oldCounts = counts, oldSums = sums;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY) continue;
+            int slot = slot(oldKeys[i]);
+            keys[slot] = oldKeys[i];
+            counts[slot] = oldCounts[i];
+            sums[slot] = oldSums[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        counts = new long[capacity];
+        sums = new long[capacity];
+    }
+
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return key;
+    }
+}
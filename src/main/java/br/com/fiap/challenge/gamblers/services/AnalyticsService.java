@@ -0,0 +1,246 @@
+package br.com.fiap.challenge.gamblers.services;
+
+import br.com.fiap.challenge.gamblers.entities.AnalyticsDimension;
+import br.com.fiap.challenge.gamblers.entities.AnalyticsMetric;
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import br.com.fiap.challenge.gamblers.entities.dtos.AnalyticsGroupDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.AnalyticsQueryRequest;
+import br.com.fiap.challenge.gamblers.entities.dtos.AnalyticsQueryResponse;
+import br.com.fiap.challenge.gamblers.interfaces.IAnalyticsService;
+import br.com.fiap.challenge.gamblers.repositories.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+/**
+ * Ad-hoc aggregations (count and amount, grouped by type, user and hour/day) over an in-memory
+ * columnar snapshot of the transactions table. The snapshot is loaded in (createdAt, id) order in
+ * batches, extended incrementally with new rows and rebuilt on a schedule to pick up updates and deletes.
+ * Queries binary-search the time window and scan it in parallel chunks on the common fork-join pool.
+ */
+@Service
+@RequiredArgsConstructor
+public class AnalyticsService implements IAnalyticsService {
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsService.class);
+    static final int DEFAULT_LIMIT = 1000;
+    static final int MAX_LIMIT = 10000;
+    private static final int CHUNK_ROWS = 1 << 20;
+    private static final long HOUR_MILLIS = Duration.ofHours(1).toMillis();
+    private static final long DAY_MILLIS = Duration.ofDays(1).toMillis();
+    private static final LocalDateTime MIN_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID MIN_ID = new UUID(0, 0);
+    private static final TransactionType[] TYPES = TransactionType.values();
+    // 21 bytes per row, times 5 for the worst case: a snapshot at twice its size after growing, plus a reload
+    // building its replacement while that snapshot is live, plus the old and new arrays of that replacement's grow()
+    public static final int PEAK_BYTES_PER_ROW = 21 * 5;
+
+    private final TransactionRepository transactionRepository;
+
+    @Value("${app.analytics.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.analytics.batch-size:50000}")
+    private int batchSize;
+
+    // 0 sizes the cap from the heap, see heapRowCap
+    @Value("${app.analytics.max-rows:0}")
+    private int maxRows;
+
+    @Value("${app.analytics.heap-fraction:0.25}")
+    private double heapFraction;
+
+    // Rows younger than this are left for the next refresh, so transactions still committing are not skipped
+    @Value("${app.analytics.refresh-lag:5s}")
+    private Duration refreshLag;
+
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private volatile TransactionColumns columns = new TransactionColumns();
+    private LocalDateTime lastCreatedAt = MIN_TIME;
+    private UUID lastId = MIN_ID;
+
+    @Scheduled(fixedDelayString = "${app.analytics.refresh-interval-ms:10000}")
+    public void refresh() {
+        if (!enabled || !loadLock.tryLock()) return;
+        try {
+            load(columns);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    @Scheduled(cron = "${app.analytics.reload-cron:0 0 4 * * *}")
+    public void reload() {
+        if (!enabled) return;
+        loadLock.lock();
+        try {
+            // Queries keep using the current snapshot until the new one is complete
+            LocalDateTime previousCreatedAt = lastCreatedAt;
+            UUID previousId = lastId;
+            lastCreatedAt = MIN_TIME;
+            lastId = MIN_ID;
+            TransactionColumns fresh = new TransactionColumns();
+            try {
+                load(fresh);
+            } catch (RuntimeException e) {
+                lastCreatedAt = previousCreatedAt;
+                lastId = previousId;
+                throw e;
+            }
+            columns = fresh;
+            log.info("Analytics snapshot rebuilt with {} transactions", fresh.size());
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void load(TransactionColumns target) {
+        LocalDateTime until = LocalDateTime.now().minus(refreshLag);
+        int maxRows = this.maxRows > 0 ? this.maxRows : heapRowCap(Runtime.getRuntime().maxMemory(), heapFraction);
+        while (target.size() < maxRows) {
+            int limit = Math.min(batchSize, maxRows - target.size());
+            List<Object[]> rows = transactionRepository.findColumnsAfter(lastCreatedAt, lastId, until, Limit.of(limit));
+            for (Object[] row : rows) {
+                LocalDateTime createdAt = (LocalDateTime) row[2];
+                target.append((UUID) row[1], toMillis(createdAt), toCents((BigDecimal) row[3]), (byte) ((TransactionType) row[4]).ordinal());
+                lastId = (UUID) row[0];
+                lastCreatedAt = createdAt;
+            }
+            target.publish();
+            if (rows.size() < limit) return;
+        }
+        log.warn("Analytics snapshot reached its cap of {} rows (app.analytics.max-rows / heap-fraction); newer transactions are not loaded", maxRows);
+    }
+
+    /** Rows that fit in the given fraction of the heap at the peak footprint of a grow() during a reload. */
+    public static int heapRowCap(long maxMemory, double fraction) {
+        return (int) Math.min(Integer.MAX_VALUE - 8, (long) (maxMemory * fraction) / PEAK_BYTES_PER_ROW);
+    }
+
+    @Override
+    public AnalyticsQueryResponse query(AnalyticsQueryRequest request) {
+        long started = System.nanoTime();
+        Set<AnalyticsDimension> groupBy = request.getGroupBy() == null || request.getGroupBy().isEmpty()
+                ? EnumSet.noneOf(AnalyticsDimension.class) : EnumSet.copyOf(request.getGroupBy());
+        if (groupBy.contains(AnalyticsDimension.HOUR) && groupBy.contains(AnalyticsDimension.DAY)) {
+            throw new IllegalArgumentException("Group by HOUR or DAY, not both");
+        }
+        long from = request.getFrom() != null ? toMillis(request.getFrom()) : Long.MIN_VALUE;
+        long to = request.getTo() != null ? toMillis(request.getTo()) : Long.MAX_VALUE;
+        if (from >= to) throw new IllegalArgumentException("'from' must be before 'to'");
+        int limit = request.getLimit() == null || request.getLimit() <= 0 ? DEFAULT_LIMIT : Math.min(request.getLimit(), MAX_LIMIT);
+
+        TransactionColumns current = columns;
+        TransactionColumns.View view = current.view();
+        int start = view.lowerBound(from);
+        int end = view.lowerBound(to);
+
+        int user = -1;
+        if (request.getUserId() != null) {
+            user = current.userIndexOf(request.getUserId());
+            if (user < 0 || user >= view.userCount()) end = start;
+        }
+        int typeMask = 0;
+        if (request.getTypes() == null || request.getTypes().isEmpty()) typeMask = -1;
+        else for (TransactionType type : request.getTypes()) typeMask |= 1 << type.ordinal();
+
+        Scan scan = new Scan(view, user, typeMask, groupBy.contains(AnalyticsDimension.TYPE), groupBy.contains(AnalyticsDimension.USER),
+                groupBy.contains(AnalyticsDimension.HOUR) ? HOUR_MILLIS : groupBy.contains(AnalyticsDimension.DAY) ? DAY_MILLIS : 0);
+        int rangeStart = start;
+        int rows = end - start;
+        int chunks = Math.max(1, (rows + CHUNK_ROWS - 1) / CHUNK_ROWS);
+        AggregationTable table = IntStream.range(0, chunks).parallel()
+                .mapToObj(c -> scan.run(rangeStart + (int) ((long) rows * c / chunks), rangeStart + (int) ((long) rows * (c + 1) / chunks)))
+                .reduce(AggregationTable::merge)
+                .orElseGet(AggregationTable::new);
+
+        List<AnalyticsGroupDTO> groups = toGroups(table, scan, view);
+        groups.sort(comparator(request.getOrderBy()));
+        int totalGroups = groups.size();
+        return AnalyticsQueryResponse.builder()
+                .groups(totalGroups > limit ? new ArrayList<>(groups.subList(0, limit)) : groups)
+                .totalGroups(totalGroups)
+                .rowsScanned(rows)
+                .snapshotRows(view.size())
+                .snapshotUpTo(view.size() == 0 ? null : toLocal(view.times()[view.size() - 1]))
+                .elapsedMillis((System.nanoTime() - started) / 1_000_000)
+                .build();
+    }
+
+    /**
+     * One query's filters and grouping. Group keys pack (user index + 1) in the high 32 bits,
+     * the time bucket in the next 24 and the type ordinal in the low 8; dimensions not grouped stay 0.
+     */
+    private record Scan(TransactionColumns.View view, int user, int typeMask, boolean byType, boolean byUser, long bucketMillis) {
+
+        AggregationTable run(int from, int to) {
+            int[] users = view.users();
+            long[] times = view.times();
+            long[] cents = view.cents();
+            byte[] types = view.types();
+            AggregationTable table = new AggregationTable();
+            for (int i = from; i < to; i++) {
+                int type = types[i];
+                if ((typeMask & (1 << type)) == 0) continue;
+                if (user >= 0 && users[i] != user) continue;
+                long key = 0;
+                if (byUser) key |= (long) (users[i] + 1) << 32;
+                if (bucketMillis > 0) key |= (Math.floorDiv(times[i], bucketMillis) & 0xFFFFFFL) << 8;
+                if (byType) key |= type;
+                table.add(key, 1, cents[i]);
+            }
+            return table;
+        }
+    }
+
+    private static List<AnalyticsGroupDTO> toGroups(AggregationTable table, Scan scan, TransactionColumns.View view) {
+        List<AnalyticsGroupDTO> groups = new ArrayList<>(table.size());
+        table.forEachKey(key -> groups.add(AnalyticsGroupDTO.builder()
+                .type(scan.byType() ? TYPES[(int) (key & 0xFF)] : null)
+                .userId(scan.byUser() ? view.userIds()[(int) (key >>> 32) - 1] : null)
+                .bucket(scan.bucketMillis() > 0 ? toLocal(((key >>> 8) & 0xFFFFFFL) * scan.bucketMillis()) : null)
+                .count(table.count(key))
+                .amount(BigDecimal.valueOf(table.sum(key), 2))
+                .build()));
+        return groups;
+    }
+
+    private static Comparator<AnalyticsGroupDTO> comparator(AnalyticsMetric orderBy) {
+        if (orderBy == AnalyticsMetric.COUNT) return Comparator.comparingLong(AnalyticsGroupDTO::getCount).reversed();
+        if (orderBy == AnalyticsMetric.AMOUNT) return Comparator.comparing(AnalyticsGroupDTO::getAmount).reversed();
+        return Comparator.comparing(AnalyticsGroupDTO::getBucket, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(AnalyticsGroupDTO::getType, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(g -> g.getUserId() == null ? "" : g.getUserId().toString());
+    }
+
+    // createdAt is a zone-less LocalDateTime; UTC is only used as a fixed encoding, so buckets follow the stored clock
+    private static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime toLocal(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
@@ -0,0 +1,207 @@
+package br.com.fiap.challenge.gamblers.services;
+
+import br.com.fiap.challenge.gamblers.entities.Transaction;
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import br.com.fiap.challenge.gamblers.entities.UserBalance;
+import br.com.fiap.challenge.gamblers.entities.dtos.BalanceDTO;
+import br.com.fiap.challenge.gamblers.exception.NotFoundException;
+import br.com.fiap.challenge.gamblers.interfaces.IBalanceService;
+import br.com.fiap.challenge.gamblers.repositories.TransactionRepository;
+import br.com.fiap.challenge.gamblers.repositories.UserBalanceRepository;
+import br.com.fiap.challenge.gamblers.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class BalanceService implements IBalanceService {
+    private static final Logger log = LoggerFactory.getLogger(BalanceService.class);
+    private static final int MAX_REBUILD_ATTEMPTS = 3;
+    private static final String INSERT =
+            "insert into user_balances (user_id, balance, total_deposits, total_withdrawals, total_bets, version, updated_at) " +
+            "values (?, ?, ?, ?, ?, 0, ?)";
+
+    private final UserBalanceRepository balanceRepository;
+    private final UserRepository userRepository;
+    private final TransactionRepository transactionRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.balances.rebuild-batch-size:500}")
+    private int rebuildBatchSize;
+
+    @Override
+    @Transactional(readOnly = true)
+    public BalanceDTO getBalance(UUID userId) {
+        return balanceRepository.findById(userId)
+                .map(this::toDTO)
+                .orElseGet(() -> {
+                    if (!userRepository.existsById(userId)) throw new NotFoundException("User not found");
+                    return toDTO(emptyBalance(userId));
+                });
+    }
+
+    // Called inside the caller's transaction so the ledger commits or rolls back with the transaction row
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyCreated(Transaction tx) {
+        apply(tx.getUser().getId(), Delta.of(tx.getType(), tx.getAmount()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyRemoved(Transaction tx) {
+        apply(tx.getUser().getId(), Delta.of(tx.getType(), tx.getAmount().negate()));
+    }
+
+    // Bulk variant: one ledger update per user instead of one per transaction
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyCreatedAll(Collection<Transaction> txs) {
+        Map<UUID, Delta> byUser = new HashMap<>();
+        for (Transaction tx : txs) {
+            byUser.merge(tx.getUser().getId(), Delta.of(tx.getType(), tx.getAmount()), Delta::plus);
+        }
+        byUser.forEach(this::apply);
+    }
+
+    private void apply(UUID userId, Delta delta) {
+        if (delta.isZero()) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        if (applyDelta(userId, delta, now)) return;
+        // First movement of a user without a ledger row yet
+        if (InsertIfAbsent.execute(jdbcTemplate, INSERT, userId, delta.balance(), delta.deposits(), delta.withdrawals(), delta.bets(), now)) return;
+        // A concurrent first movement inserted the row and committed meanwhile: add to it instead
+        if (!applyDelta(userId, delta, now)) throw new IllegalStateException("Balance row of user " + userId + " disappeared");
+    }
+
+    private boolean applyDelta(UUID userId, Delta delta, LocalDateTime now) {
+        return balanceRepository.applyDelta(userId, delta.deposits(), delta.withdrawals(), delta.bets(), now) > 0;
+    }
+
+    private record Delta(BigDecimal deposits, BigDecimal withdrawals, BigDecimal bets) {
+        static Delta of(TransactionType type, BigDecimal amount) {
+            return new Delta(
+                    type == TransactionType.DEPOSIT ? amount : BigDecimal.ZERO,
+                    type == TransactionType.WITHDRAWAL ? amount : BigDecimal.ZERO,
+                    type == TransactionType.BET ? amount : BigDecimal.ZERO);
+        }
+
+        BigDecimal balance() {
+            return deposits.subtract(withdrawals).subtract(bets);
+        }
+
+        Delta plus(Delta other) {
+            return new Delta(deposits.add(other.deposits), withdrawals.add(other.withdrawals), bets.add(other.bets));
+        }
+
+        boolean isZero() {
+            return deposits.signum() == 0 && withdrawals.signum() == 0 && bets.signum() == 0;
+        }
+    }
+
+    /**
+     * Recomputes every ledger row from the transactions table, one batch of users per database transaction.
+     * Rows touched concurrently by live writes fail the version check and the batch is retried.
+     */
+    @Override
+    public long rebuildAll() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        UUID after = new UUID(0L, 0L);
+        long processed = 0;
+        while (true) {
+            List<UUID> ids = userRepository.findIdsAfter(after, Limit.of(rebuildBatchSize));
+            if (ids.isEmpty()) break;
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    template.executeWithoutResult(status -> rebuildBatch(ids));
+                    break;
+                } catch (ObjectOptimisticLockingFailureException e) {
+                    if (attempt == MAX_REBUILD_ATTEMPTS) throw e;
+                    log.debug("Balance rebuild batch raced with live writes, retrying ({}/{})", attempt, MAX_REBUILD_ATTEMPTS);
+                }
+            }
+            processed += ids.size();
+            after = ids.get(ids.size() - 1);
+        }
+        log.info("Rebuilt balances for {} users", processed);
+        return processed;
+    }
+
+    private void rebuildBatch(List<UUID> userIds) {
+        // Read the current rows (and their versions) before aggregating so later live writes are detected
+        Map<UUID, UserBalance> balances = balanceRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(UserBalance::getUserId, Function.identity(), (a, b) -> a, HashMap::new));
+        List<UUID> missing = userIds.stream().filter(id -> !balances.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            // Rows are created the same way live writes create them, so a first movement racing the rebuild
+            // adds to the row instead of failing on its primary key; both are then covered by the version check
+            LocalDateTime now = LocalDateTime.now();
+            for (UUID userId : missing) {
+                InsertIfAbsent.execute(jdbcTemplate, INSERT, userId, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, now);
+            }
+            balanceRepository.findAllById(missing).forEach(b -> balances.put(b.getUserId(), b));
+        }
+        Map<UUID, Map<TransactionType, BigDecimal>> sums = new HashMap<>();
+        for (Object[] row : transactionRepository.sumAmountsByUserAndType(userIds)) {
+            sums.computeIfAbsent((UUID) row[0], k -> new HashMap<>()).put((TransactionType) row[1], (BigDecimal) row[2]);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (UUID userId : userIds) {
+            Map<TransactionType, BigDecimal> byType = sums.getOrDefault(userId, Map.of());
+            BigDecimal deposits = byType.getOrDefault(TransactionType.DEPOSIT, BigDecimal.ZERO);
+            BigDecimal withdrawals = byType.getOrDefault(TransactionType.WITHDRAWAL, BigDecimal.ZERO);
+            BigDecimal bets = byType.getOrDefault(TransactionType.BET, BigDecimal.ZERO);
+
+            UserBalance balance = balances.get(userId);
+            // The user was deleted while the batch ran
+            if (balance == null) continue;
+            balance.setTotalDeposits(deposits);
+            balance.setTotalWithdrawals(withdrawals);
+            balance.setTotalBets(bets);
+            balance.setBalance(deposits.subtract(withdrawals).subtract(bets));
+            balance.setUpdatedAt(now);
+        }
+        balanceRepository.saveAll(balances.values());
+    }
+
+    private static UserBalance emptyBalance(UUID userId) {
+        return UserBalance.builder()
+                .userId(userId)
+                .balance(BigDecimal.ZERO)
+                .totalDeposits(BigDecimal.ZERO)
+                .totalWithdrawals(BigDecimal.ZERO)
+                .totalBets(BigDecimal.ZERO)
+                .build();
+    }
+
+    private BalanceDTO toDTO(UserBalance balance) {
+        return BalanceDTO.builder()
+                .userId(balance.getUserId())
+                .balance(balance.getBalance())
+                .totalDeposits(balance.getTotalDeposits())
+                .totalWithdrawals(balance.getTotalWithdrawals())
+                .totalBets(balance.getTotalBets())
+                .updatedAt(balance.getUpdatedAt())
+                .build();
+    }
+}
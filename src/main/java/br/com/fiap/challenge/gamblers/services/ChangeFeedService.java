@@ -0,0 +1,199 @@
+package br.com.fiap.challenge.gamblers.services;
+
+import br.com.fiap.challenge.gamblers.entities.ChangeEntity;
+import br.com.fiap.challenge.gamblers.entities.ChangeEvent;
+import br.com.fiap.challenge.gamblers.entities.ChangeOperation;
+import br.com.fiap.challenge.gamblers.entities.dtos.ChangeEventDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.ChangeFeedPage;
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.UserDTO;
+import br.com.fiap.challenge.gamblers.interfaces.IChangeFeedService;
+import br.com.fiap.challenge.gamblers.repositories.ChangeEventRepository;
+import br.com.fiap.challenge.gamblers.repositories.TransactionRepository;
+import br.com.fiap.challenge.gamblers.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Change feed over transactions and users. Every write records a change_events row in the same database
+ * transaction, and deletes record a tombstone, so consumers can pull "what changed since seq N" instead
+ * of re-reading whole tables. Deleting a user also tombstones the transactions the delete cascades to.
+ * <p>
+ * Events are recorded without a seq. {@link #sequence()} numbers them after their transaction commits,
+ * one sequencer at a time (it holds the change_feed_sequence row), so the numbered events always form a
+ * gap-free prefix: a consumer moving its cursor past seq N can never miss an event committed later.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChangeFeedService implements IChangeFeedService {
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedService.class);
+    static final int DEFAULT_PAGE_SIZE = 500;
+    static final int MAX_PAGE_SIZE = 5000;
+
+    private static final String INSERT =
+            "insert into change_events (entity_type, entity_id, operation, changed_at) values (?, ?, ?, ?)";
+    private static final String INSERT_USER_TRANSACTION_TOMBSTONES =
+            "insert into change_events (entity_type, entity_id, operation, changed_at) " +
+            "select '" + ChangeEntity.TRANSACTION + "', id, '" + ChangeOperation.DELETE + "', ? from transactions where user_id = ?";
+    private static final String INSERT_SEQUENCE =
+            "insert into change_feed_sequence (id, last_seq) select 1, coalesce(max(seq), 0) from change_events";
+    private static final String LOCK_SEQUENCE = "select last_seq from change_feed_sequence where id = 1 for update";
+    private static final String UPDATE_SEQUENCE = "update change_feed_sequence set last_seq = ? where id = 1";
+    // Only committed events are visible here, in the order they were recorded
+    private static final String SELECT_UNSEQUENCED = "select id from change_events where seq is null order by id limit ?";
+    private static final String ANY_UNSEQUENCED = "select id from change_events where seq is null limit 1";
+    private static final String ASSIGN_SEQ = "update change_events set seq = ? where id = ?";
+
+    private final ChangeEventRepository changeEventRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.changes.sequence-batch-size:5000}")
+    private int sequenceBatchSize;
+
+    @Value("${app.changes.retention:7d}")
+    private Duration retention;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpsert(ChangeEntity entity, UUID id) {
+        record(entity, ChangeOperation.UPSERT, List.of(id));
+    }
+
+    // One JDBC batch for the whole list; the identity column keeps JPA from batching these inserts
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpserts(ChangeEntity entity, Collection<UUID> ids) {
+        record(entity, ChangeOperation.UPSERT, ids);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDelete(ChangeEntity entity, UUID id) {
+        record(entity, ChangeOperation.DELETE, List.of(id));
+    }
+
+    // Must run before the user row is deleted, while the cascaded transactions can still be listed
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUserDeleted(UUID userId) {
+        jdbcTemplate.update(INSERT_USER_TRANSACTION_TOMBSTONES, Timestamp.valueOf(LocalDateTime.now()), userId);
+        recordDelete(ChangeEntity.USER, userId);
+    }
+
+    private void record(ChangeEntity entity, ChangeOperation operation, Collection<UUID> ids) {
+        if (ids.isEmpty()) return;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(ids.size());
+        for (UUID id : ids) rows.add(new Object[]{entity.name(), id, operation.name(), now});
+        jdbcTemplate.batchUpdate(INSERT, rows);
+    }
+
+    /**
+     * Numbers the committed events that have no seq yet, in batches, each in its own transaction.
+     * Concurrent sequencers (other instances) queue on the change_feed_sequence row, so the next one
+     * only sees, and numbers after, what the previous one committed.
+     */
+    @Scheduled(fixedDelayString = "${app.changes.sequence-interval-ms:200}")
+    public int sequence() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        int total = 0;
+        while (true) {
+            Integer sequenced = template.execute(status -> sequenceBatch());
+            int count = sequenced == null ? 0 : sequenced;
+            total += count;
+            if (count < sequenceBatchSize) return total;
+        }
+    }
+
+    private int sequenceBatch() {
+        // Idle runs skip the lock
+        if (jdbcTemplate.queryForList(ANY_UNSEQUENCED, Long.class).isEmpty()) return 0;
+        List<Long> locked = jdbcTemplate.queryForList(LOCK_SEQUENCE, Long.class);
+        if (locked.isEmpty()) {
+            // First run on an empty schema: create the row, starting after any seq already handed out
+            InsertIfAbsent.execute(jdbcTemplate, INSERT_SEQUENCE);
+            locked = jdbcTemplate.queryForList(LOCK_SEQUENCE, Long.class);
+        }
+        // Read after taking the lock, so events numbered by the previous holder are not numbered again
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_UNSEQUENCED, Long.class, sequenceBatchSize);
+        if (ids.isEmpty()) return 0;
+        long seq = locked.get(0);
+        List<Object[]> rows = new ArrayList<>(ids.size());
+        for (Long id : ids) rows.add(new Object[]{++seq, id});
+        jdbcTemplate.batchUpdate(ASSIGN_SEQ, rows);
+        jdbcTemplate.update(UPDATE_SEQUENCE, seq);
+        return ids.size();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ChangeFeedPage changesSince(long since, Integer limit) {
+        if (since < 0) throw new IllegalArgumentException("'since' must not be negative");
+        int size = pageSize(limit);
+
+        // Events not sequenced yet have no seq and are left for a later page; one extra row tells whether another page exists
+        List<ChangeEvent> rows = changeEventRepository.findBySeqGreaterThanOrderBySeq(since, Limit.of(size + 1));
+        List<ChangeEvent> page = rows.size() > size ? rows.subList(0, size) : rows;
+        boolean hasMore = rows.size() > size;
+
+        Map<UUID, TransactionDTO> transactions = load(page, ChangeEntity.TRANSACTION, transactionRepository::findDTOsByIds, TransactionDTO::getId);
+        Map<UUID, UserDTO> users = load(page, ChangeEntity.USER, userRepository::findDTOsByIds, UserDTO::getId);
+        List<ChangeEventDTO> items = page.stream().map(e -> ChangeEventDTO.builder()
+                .seq(e.getSeq())
+                .entity(e.getEntityType())
+                .id(e.getEntityId())
+                .operation(e.getOperation())
+                .changedAt(e.getChangedAt())
+                // Current state, not the state at the time of the event; null once deleted (its tombstone follows)
+                .transaction(e.getOperation() == ChangeOperation.UPSERT ? transactions.get(e.getEntityId()) : null)
+                .user(e.getOperation() == ChangeOperation.UPSERT ? users.get(e.getEntityId()) : null)
+                .build()).toList();
+
+        long nextCursor = page.isEmpty() ? since : page.get(page.size() - 1).getSeq();
+        return new ChangeFeedPage(items, nextCursor, hasMore);
+    }
+
+    @Scheduled(cron = "${app.changes.cleanup-cron:0 30 4 * * *}")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = changeEventRepository.deleteChangedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) log.info("Deleted {} expired change events", deleted);
+    }
+
+    private static <T> Map<UUID, T> load(List<ChangeEvent> page, ChangeEntity entity,
+                                         Function<Collection<UUID>, List<T>> finder, Function<T, UUID> idOf) {
+        Set<UUID> ids = new HashSet<>();
+        for (ChangeEvent event : page) {
+            if (event.getEntityType() == entity && event.getOperation() == ChangeOperation.UPSERT) ids.add(event.getEntityId());
+        }
+        if (ids.isEmpty()) return Map.of();
+        return finder.apply(ids).stream().collect(Collectors.toMap(idOf, Function.identity()));
+    }
+
+    private static int pageSize(Integer requested) {
+        if (requested == null || requested <= 0) return DEFAULT_PAGE_SIZE;
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+}
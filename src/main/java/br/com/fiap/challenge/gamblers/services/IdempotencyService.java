@@ -0,0 +1,173 @@
+package br.com.fiap.challenge.gamblers.services;
+
+import br.com.fiap.challenge.gamblers.entities.IdempotencyKey;
+import br.com.fiap.challenge.gamblers.entities.dtos.CreateTransactionDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionDTO;
+import br.com.fiap.challenge.gamblers.interfaces.IIdempotencyService;
+import br.com.fiap.challenge.gamblers.interfaces.ITransactionService;
+import br.com.fiap.challenge.gamblers.repositories.IdempotencyKeyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Exactly-once transaction creation for clients that send an Idempotency-Key. The key is inserted in
+ * the same database transaction as the bet, so a retry finds the original instead of creating another.
+ * Keys seen recently are answered from a bounded in-memory cache without touching the database;
+ * concurrent requests with the same key on this instance wait for the first one instead of racing it,
+ * and across instances the primary key on idempotency_keys lets only one insert commit.
+ * Keys are per principal: two clients sending the same key get independent transactions.
+ */
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService implements IIdempotencyService {
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository keyRepository;
+    private final ITransactionService transactionService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.idempotency.cache-max-size:100000}")
+    private long cacheMaxSize;
+
+    @Value("${app.idempotency.cache-ttl:10m}")
+    private Duration cacheTtl;
+
+    @Value("${app.idempotency.retention:24h}")
+    private Duration retention;
+
+    private Cache<IdempotencyKey.Key, Outcome> cache;
+    private final Map<IdempotencyKey.Key, CompletableFuture<Outcome>> inFlight = new ConcurrentHashMap<>();
+    private TransactionTemplate transactionTemplate;
+
+    private record Outcome(String requestHash, TransactionDTO transaction) {
+    }
+
+    @PostConstruct
+    public void init() {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public TransactionDTO createTransaction(String idempotencyKey, CreateTransactionDTO dto) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must have 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String principal = principal();
+        IdempotencyKey.Key key = new IdempotencyKey.Key(principal, idempotencyKey);
+        String requestHash = requestHash(principal, dto);
+        Outcome cached = cache.getIfPresent(key);
+        if (cached != null) return replay(cached, requestHash);
+
+        CompletableFuture<Outcome> mine = new CompletableFuture<>();
+        CompletableFuture<Outcome> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            try {
+                return replay(running.join(), requestHash);
+            } catch (CompletionException e) {
+                // The first request failed and stored nothing; this one is not retried on its behalf
+                if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+                throw e;
+            }
+        }
+        try {
+            Outcome outcome = createOnce(key, requestHash, dto);
+            cache.put(key, outcome);
+            mine.complete(outcome);
+            return replay(outcome, requestHash);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private Outcome createOnce(IdempotencyKey.Key key, String requestHash, CreateTransactionDTO dto) {
+        try {
+            return transactionTemplate.execute(status -> {
+                IdempotencyKey stored = keyRepository.findById(key).orElse(null);
+                if (stored != null) return outcomeOf(stored);
+                TransactionDTO created = transactionService.create(dto);
+                keyRepository.saveAndFlush(IdempotencyKey.builder()
+                        .principal(key.getPrincipal())
+                        .idempotencyKey(key.getIdempotencyKey())
+                        .requestHash(requestHash)
+                        .transactionId(created.getId())
+                        .createdAt(LocalDateTime.now())
+                        .build());
+                return new Outcome(requestHash, created);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another instance committed the same key first; its transaction is the answer and ours rolled back
+            return transactionTemplate.execute(status -> keyRepository.findById(key).map(this::outcomeOf).orElseThrow(() -> e));
+        }
+    }
+
+    private Outcome outcomeOf(IdempotencyKey stored) {
+        return new Outcome(stored.getRequestHash(), transactionService.findById(stored.getTransactionId()));
+    }
+
+    private static TransactionDTO replay(Outcome outcome, String requestHash) {
+        if (!outcome.requestHash().equals(requestHash)) {
+            throw new IllegalArgumentException("Idempotency-Key was already used for a different request");
+        }
+        return outcome.transaction();
+    }
+
+    @Scheduled(cron = "${app.idempotency.cleanup-cron:0 15 4 * * *}")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = keyRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) log.info("Deleted {} expired idempotency keys", deleted);
+    }
+
+    private static String principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "" : authentication.getName();
+    }
+
+    // Keeps covering the caller, so keys stored before they were scoped per principal still match their requests
+    private static String requestHash(String principal, CreateTransactionDTO dto) {
+        String canonical = String.join("\n",
+                principal,
+                String.valueOf(dto.getUserId()),
+                dto.getAmount() == null ? "" : dto.getAmount().stripTrailingZeros().toPlainString(),
+                String.valueOf(dto.getDescription()),
+                String.valueOf(dto.getType()));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
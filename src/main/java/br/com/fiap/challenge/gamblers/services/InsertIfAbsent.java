@@ -0,0 +1,40 @@
+package br.com.fiap.challenge.gamblers.services;
+
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+/**
+ * Inserts a row that a concurrent transaction may be inserting too, inside the caller's transaction.
+ * The loser of the race waits for the winner to commit and gets a duplicate key; the statement runs under
+ * a savepoint so only it is undone (on Postgres a failed statement would abort the whole transaction),
+ * and the caller then updates the winner's row instead.
+ */
+final class InsertIfAbsent {
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private InsertIfAbsent() {
+    }
+
+    // true if this call inserted the row, false if it already existed
+    static boolean execute(JdbcTemplate jdbcTemplate, String sql, Object... args) {
+        Boolean inserted = jdbcTemplate.execute((ConnectionCallback<Boolean>) con -> {
+            Savepoint savepoint = con.setSavepoint();
+            try (PreparedStatement ps = con.prepareStatement(sql)) {
+                new ArgumentPreparedStatementSetter(args).setValues(ps);
+                ps.executeUpdate();
+            } catch (SQLException e) {
+                con.rollback(savepoint);
+                if (UNIQUE_VIOLATION.equals(e.getSQLState())) return false;
+                throw e;
+            }
+            con.releaseSavepoint(savepoint);
+            return true;
+        });
+        return Boolean.TRUE.equals(inserted);
+    }
+}
@@ -0,0 +1,134 @@
+package br.com.fiap.challenge.gamblers.services;
+
+import br.com.fiap.challenge.gamblers.entities.OutboxEvent;
+import br.com.fiap.challenge.gamblers.events.OutboxMessage;
+import br.com.fiap.challenge.gamblers.events.OutboxSink;
+import br.com.fiap.challenge.gamblers.repositories.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Delivers outbox events to the configured {@link OutboxSink}, at least once. Each round claims a batch of
+ * due events with SELECT ... FOR UPDATE SKIP LOCKED and pushes their nextAttemptAt out by a lease before
+ * committing, so other instances skip them while the batch is in flight without a transaction held open
+ * across the delivery. A delivered batch is deleted; a failed one is retried with exponential backoff. If
+ * the instance dies mid-delivery the lease expires and the batch is delivered again.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.outbox", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class OutboxDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink sink;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.outbox.batch-size:500}")
+    private int batchSize;
+
+    // Must exceed the longest delivery, or a slow batch is claimed and delivered twice
+    @Value("${app.outbox.lease:1m}")
+    private Duration lease;
+
+    @Value("${app.outbox.retry-initial:1s}")
+    private Duration retryInitial;
+
+    @Value("${app.outbox.retry-max:5m}")
+    private Duration retryMax;
+
+    private TransactionTemplate transactionTemplate;
+    private Counter dispatched;
+    private Counter failed;
+    private DistributionSummary batchSizes;
+    private Timer lag;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        dispatched = Counter.builder("outbox.dispatched").tag("sink", sink.name())
+                .description("Outbox events delivered").register(meterRegistry);
+        failed = Counter.builder("outbox.failed").tag("sink", sink.name())
+                .description("Outbox event deliveries that failed and were rescheduled").register(meterRegistry);
+        batchSizes = DistributionSummary.builder("outbox.batch.size").tag("sink", sink.name())
+                .description("Outbox events per delivered batch").register(meterRegistry);
+        lag = Timer.builder("outbox.dispatch.lag").tag("sink", sink.name())
+                .description("Time from the change being written to its event being delivered").register(meterRegistry);
+        log.info("Outbox dispatcher on: {} sink, batches of {}", sink.name(), batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:500}")
+    public void dispatch() {
+        int delivered;
+        // Full batches mean a backlog: keep going instead of waiting for the next poll
+        do {
+            delivered = dispatchBatch();
+        } while (delivered == batchSize);
+    }
+
+    private int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> {
+            List<OutboxEvent> due = outboxEventRepository.findDueForUpdate(now, Limit.of(batchSize));
+            // Flushed as the claim commits; the row locks are released and the lease keeps others away
+            for (OutboxEvent event : due) event.setNextAttemptAt(now.plus(lease));
+            return due;
+        });
+        if (batch.isEmpty()) return 0;
+
+        List<UUID> ids = batch.stream().map(OutboxEvent::getId).toList();
+        try {
+            sink.deliver(batch.stream().map(OutboxDispatcher::toMessage).toList());
+        } catch (Exception e) {
+            int attempts = batch.stream().mapToInt(OutboxEvent::getAttempts).max().orElse(0) + 1;
+            Duration backoff = backoff(attempts);
+            String error = e.getMessage() == null ? e.getClass().getName() : e.getMessage();
+            transactionTemplate.executeWithoutResult(status -> outboxEventRepository.markFailed(ids,
+                    LocalDateTime.now().plus(backoff), error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error));
+            failed.increment(batch.size());
+            log.warn("Could not deliver {} outbox events to the {} sink (attempt {}), retrying in {}: {}",
+                    batch.size(), sink.name(), attempts, backoff, error);
+            return 0;
+        }
+        // A crash before this commits only means the batch is delivered again
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.deleteByIds(ids));
+
+        LocalDateTime delivered = LocalDateTime.now();
+        for (OutboxEvent event : batch) lag.record(Duration.between(event.getCreatedAt(), delivered));
+        dispatched.increment(batch.size());
+        batchSizes.record(batch.size());
+        return batch.size();
+    }
+
+    private Duration backoff(int attempts) {
+        // retry-initial doubled per failed attempt, capped at retry-max
+        long factor = 1L << Math.min(attempts - 1, 30);
+        Duration delay = retryInitial.multipliedBy(factor);
+        return delay.compareTo(retryMax) > 0 ? retryMax : delay;
+    }
+
+    private static OutboxMessage toMessage(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getEventType(), event.getAggregateType(), event.getAggregateId(),
+                event.getCreatedAt(), event.getPayload());
+    }
+}
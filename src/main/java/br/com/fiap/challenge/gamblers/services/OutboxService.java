@@ -0,0 +1,104 @@
+package br.com.fiap.challenge.gamblers.services;
+
+import br.com.fiap.challenge.gamblers.entities.OutboxEvent;
+import br.com.fiap.challenge.gamblers.entities.OutboxEventType;
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionDTO;
+import br.com.fiap.challenge.gamblers.entities.ids.UuidV7;
+import br.com.fiap.challenge.gamblers.repositories.OutboxEventRepository;
+import br.com.fiap.challenge.gamblers.repositories.TransactionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes outbox events in the caller's database transaction, so an event is published if and only if
+ * the change it describes commits; OutboxDispatcher delivers them afterwards. Nothing is written
+ * unless app.outbox.enabled is set, as no dispatcher would drain the table.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+    static final int BATCH_SIZE = 500;
+    private static final String INSERT =
+            "insert into outbox_events (id, aggregate_type, aggregate_id, event_type, payload, created_at, next_attempt_at, attempts) " +
+            "values (?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionRepository transactionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.outbox.enabled:false}")
+    private boolean enabled;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(OutboxEventType type, UUID aggregateId, Object payload) {
+        if (!enabled) return;
+        outboxEventRepository.save(event(type, aggregateId, payload, LocalDateTime.now()));
+    }
+
+    // Ids are generated app-side, so the inserts go out in JDBC batches
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> void appendAll(OutboxEventType type, List<T> payloads, Function<T, UUID> aggregateIdOf) {
+        if (!enabled || payloads.isEmpty()) return;
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = new ArrayList<>(payloads.size());
+        for (T payload : payloads) events.add(event(type, aggregateIdOf.apply(payload), payload, now));
+        outboxEventRepository.saveAll(events);
+    }
+
+    /**
+     * TRANSACTION_DELETED for every transaction of a user about to be deleted, which the delete removes by
+     * cascade without going through TransactionService. Must run before the user row is deleted, while the
+     * transactions can still be read; they are streamed and inserted in JDBC batches, outside the persistence context.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendUserTransactionsDeleted(UUID userId) {
+        if (!enabled) return;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        OutboxEventType type = OutboxEventType.TRANSACTION_DELETED;
+        List<Object[]> rows = new ArrayList<>();
+        try (Stream<TransactionDTO> transactions = transactionRepository.streamDTOsByUserId(userId)) {
+            transactions.forEach(tx -> {
+                rows.add(new Object[]{UuidV7.next(), type.aggregate().name(), tx.getId(), type.name(), toJson(type, tx), now, now});
+                if (rows.size() == BATCH_SIZE) {
+                    jdbcTemplate.batchUpdate(INSERT, rows);
+                    rows.clear();
+                }
+            });
+        }
+        if (!rows.isEmpty()) jdbcTemplate.batchUpdate(INSERT, rows);
+    }
+
+    private OutboxEvent event(OutboxEventType type, UUID aggregateId, Object payload, LocalDateTime now) {
+        return OutboxEvent.builder()
+                .aggregateType(type.aggregate())
+                .aggregateId(aggregateId)
+                .eventType(type)
+                .payload(toJson(type, payload))
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build();
+    }
+
+    private String toJson(OutboxEventType type, Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type + " event", e);
+        }
+    }
+}
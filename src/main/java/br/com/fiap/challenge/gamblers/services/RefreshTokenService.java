@@ -0,0 +1,144 @@
+package br.com.fiap.challenge.gamblers.services;
+
+import br.com.fiap.challenge.gamblers.entities.RefreshToken;
+import br.com.fiap.challenge.gamblers.entities.dtos.LoginResponse;
+import br.com.fiap.challenge.gamblers.interfaces.IRefreshTokenService;
+import br.com.fiap.challenge.gamblers.repositories.RefreshTokenRepository;
+import br.com.fiap.challenge.gamblers.repositories.UserRepository;
+import br.com.fiap.challenge.gamblers.security.JwtUtil;
+import br.com.fiap.challenge.gamblers.security.TokenRevocationStore;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Opaque, rotating refresh tokens. Renewing an access token costs two indexed lookups and a
+ * SHA-256 instead of a BCrypt verification: the tokens are 256 random bits, so a fast hash is enough
+ * to keep them unusable if the table leaks. Each row remembers the jti of the access token issued with it,
+ * so revoking a login (logout, token reuse, account deletion) also revokes its still valid access tokens.
+ */
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService implements IRefreshTokenService {
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final int TOKEN_BYTES = 32;
+    // Slack over the access token lifetime when deciding which ones may still be valid
+    private static final Duration CLOCK_MARGIN = Duration.ofMinutes(1);
+
+    private final SecureRandom random = new SecureRandom();
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtUtil jwtUtil;
+    private final TokenRevocationStore revocationStore;
+
+    @Value("${app.jwt.refresh-expiration:30d}")
+    private Duration refreshExpiration;
+
+    @Override
+    @Transactional
+    public LoginResponse issue(String email) {
+        UUID userId = userRepository.findIdByEmail(email)
+                .orElseThrow(() -> new BadCredentialsException("Invalid credentials"));
+        return create(userId, email, UUID.randomUUID(), LocalDateTime.now());
+    }
+
+    // The family is revoked even though the request fails with 401
+    @Override
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public LoginResponse refresh(String refreshToken) {
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        if (current.getRevokedAt() != null || refreshTokenRepository.revokeIfActive(current.getId(), now) == 0) {
+            // Already rotated or revoked: someone is replaying it, so every token derived from this login goes
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            revokeAccessTokens(refreshTokenRepository.findByFamilyIdAndCreatedAtAfter(current.getFamilyId(), accessTokensSince(now)));
+            log.warn("Refresh token reuse for user {}; revoked {} tokens of the session", current.getUserId(), revoked);
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        if (!current.getExpiresAt().isAfter(now)) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        // Sign with the current email, so the access token follows email changes
+        String email = userRepository.findEmailById(current.getUserId())
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        return create(current.getUserId(), email, current.getFamilyId(), now);
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String refreshToken) {
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.findByTokenHash(hash(refreshToken)).ifPresent(token -> {
+            refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            revokeAccessTokens(refreshTokenRepository.findByFamilyIdAndCreatedAtAfter(token.getFamilyId(), accessTokensSince(now)));
+        });
+    }
+
+    @Override
+    @Transactional
+    public void revokeAll(UUID userId) {
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.revokeUser(userId, now);
+        revokeAccessTokens(refreshTokenRepository.findByUserIdAndCreatedAtAfter(userId, accessTokensSince(now)));
+    }
+
+    @Scheduled(cron = "${app.jwt.refresh-cleanup-cron:0 30 3 * * *}")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) log.info("Deleted {} expired refresh tokens", deleted);
+    }
+
+    private LoginResponse create(UUID userId, String email, UUID familyId, LocalDateTime now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        String accessJti = UUID.randomUUID().toString();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .userId(userId)
+                .tokenHash(hash(token))
+                .familyId(familyId)
+                .createdAt(now)
+                .expiresAt(now.plus(refreshExpiration))
+                .accessJti(accessJti)
+                .build());
+        return new LoginResponse(jwtUtil.generateToken(email, accessJti), token);
+    }
+
+    private void revokeAccessTokens(List<RefreshToken> tokens) {
+        Duration accessLifetime = Duration.ofMillis(jwtUtil.getExpirationMs()).plus(CLOCK_MARGIN);
+        for (RefreshToken token : tokens) {
+            revocationStore.revoke(token.getAccessJti(), token.getCreatedAt().plus(accessLifetime));
+        }
+    }
+
+    private LocalDateTime accessTokensSince(LocalDateTime now) {
+        return now.minus(Duration.ofMillis(jwtUtil.getExpirationMs()).plus(CLOCK_MARGIN));
+    }
+
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
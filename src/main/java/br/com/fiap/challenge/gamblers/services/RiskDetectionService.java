@@ -0,0 +1,198 @@
+package br.com.fiap.challenge.gamblers.services;
+
+import br.com.fiap.challenge.gamblers.entities.RiskReason;
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import br.com.fiap.challenge.gamblers.entities.dtos.RiskFlagDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionDTO;
+import br.com.fiap.challenge.gamblers.events.TransactionCreatedEvent;
+import br.com.fiap.challenge.gamblers.interfaces.IRiskService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process problem-gambler detection. Every committed transaction updates the user's sliding window
+ * in O(1) and re-evaluates the thresholds; users crossing any of them are kept in the flag table.
+ * Windows of users idle for longer than the window are evicted, and the number of tracked users is capped.
+ */
+@Service
+public class RiskDetectionService implements IRiskService {
+    private static final Logger log = LoggerFactory.getLogger(RiskDetectionService.class);
+    private static final int BUCKETS = 24;
+    private static final int STRIPES = 256;
+
+    @Value("${app.risk.window:24h}")
+    private Duration window;
+
+    @Value("${app.risk.max-tracked-users:1000000}")
+    private int maxTrackedUsers;
+
+    @Value("${app.risk.bet-count-threshold:100}")
+    private int betCountThreshold;
+
+    @Value("${app.risk.bet-volume-threshold:10000}")
+    private BigDecimal betVolumeThreshold;
+
+    @Value("${app.risk.deposit-count-threshold:10}")
+    private int depositCountThreshold;
+
+    @Value("${app.risk.loss-chasing-window:30m}")
+    private Duration lossChasingWindow;
+
+    @Value("${app.risk.loss-chasing-threshold:3}")
+    private int lossChasingThreshold;
+
+    @Value("${app.risk.night-start-hour:0}")
+    private int nightStartHour;
+
+    @Value("${app.risk.night-end-hour:6}")
+    private int nightEndHour;
+
+    @Value("${app.risk.night-events-threshold:20}")
+    private int nightEventsThreshold;
+
+    private final Map<UUID, UserRiskWindow> windows = new ConcurrentHashMap<>();
+    private final Map<UUID, RiskFlagDTO> flags = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private final LongAdder droppedEvents = new LongAdder();
+
+    private long bucketMillis;
+    private long betVolumeThresholdCents;
+
+    @PostConstruct
+    public void init() {
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new ReentrantLock();
+        bucketMillis = Math.max(1, window.toMillis() / BUCKETS);
+        betVolumeThresholdCents = betVolumeThreshold.movePointRight(2).longValue();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionCreated(TransactionCreatedEvent event) {
+        TransactionDTO tx = event.transaction();
+        record(tx.getUserId(), tx.getType(), tx.getAmount(), tx.getCreatedAt());
+    }
+
+    public void record(UUID userId, TransactionType type, BigDecimal amount, LocalDateTime createdAt) {
+        long millis = createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long bucket = Math.floorDiv(millis, bucketMillis);
+        boolean night = isNight(createdAt.getHour());
+
+        ReentrantLock lock = stripeFor(userId);
+        lock.lock();
+        try {
+            UserRiskWindow w = windows.get(userId);
+            if (w == null) {
+                if (windows.size() >= maxTrackedUsers) {
+                    droppedEvents.increment();
+                    return;
+                }
+                w = new UserRiskWindow(BUCKETS);
+                windows.put(userId, w);
+            }
+            if (!w.advanceTo(bucket)) return;
+
+            if (type == TransactionType.BET) {
+                w.increment(bucket, UserRiskWindow.BETS);
+                w.addBetCents(bucket, amount.movePointRight(2).longValue());
+                w.lastBetMillis = Math.max(w.lastBetMillis, millis);
+            } else if (type == TransactionType.DEPOSIT) {
+                w.increment(bucket, UserRiskWindow.DEPOSITS);
+                // Topping up shortly after betting is the classic loss-chasing pattern
+                if (w.lastBetMillis != Long.MIN_VALUE && millis - w.lastBetMillis <= lossChasingWindow.toMillis()) {
+                    w.increment(bucket, UserRiskWindow.CHASES);
+                }
+            }
+            if (night) w.increment(bucket, UserRiskWindow.NIGHT);
+            w.lastEventMillis = Math.max(w.lastEventMillis, millis);
+
+            evaluate(userId, w);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evaluate(UUID userId, UserRiskWindow w) {
+        EnumSet<RiskReason> reasons = EnumSet.noneOf(RiskReason.class);
+        if (w.total(UserRiskWindow.BETS) >= betCountThreshold) reasons.add(RiskReason.HIGH_BET_FREQUENCY);
+        if (w.betCentsTotal() >= betVolumeThresholdCents) reasons.add(RiskReason.HIGH_BET_VOLUME);
+        if (w.total(UserRiskWindow.DEPOSITS) >= depositCountThreshold) reasons.add(RiskReason.FREQUENT_DEPOSITS);
+        if (w.total(UserRiskWindow.CHASES) >= lossChasingThreshold) reasons.add(RiskReason.LOSS_CHASING);
+        if (w.total(UserRiskWindow.NIGHT) >= nightEventsThreshold) reasons.add(RiskReason.NIGHT_ACTIVITY);
+
+        if (reasons.isEmpty()) {
+            flags.remove(userId);
+            return;
+        }
+        RiskFlagDTO previous = flags.get(userId);
+        flags.put(userId, RiskFlagDTO.builder()
+                .userId(userId)
+                .reasons(reasons)
+                .betCount(w.total(UserRiskWindow.BETS))
+                .betVolume(BigDecimal.valueOf(w.betCentsTotal(), 2))
+                .depositCount(w.total(UserRiskWindow.DEPOSITS))
+                .lossChasingEvents(w.total(UserRiskWindow.CHASES))
+                .nightEvents(w.total(UserRiskWindow.NIGHT))
+                .flaggedAt(previous != null ? previous.getFlaggedAt() : LocalDateTime.now())
+                .build());
+    }
+
+    @Override
+    public List<RiskFlagDTO> findFlags(int limit) {
+        return flags.values().stream()
+                .sorted(Comparator.comparing((RiskFlagDTO f) -> f.getReasons().size())
+                        .thenComparing(RiskFlagDTO::getBetVolume)
+                        .reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${app.risk.sweep-interval-ms:60000}")
+    public void evictIdleUsers() {
+        long cutoff = System.currentTimeMillis() - window.toMillis();
+        int evicted = 0;
+        for (Map.Entry<UUID, UserRiskWindow> entry : windows.entrySet()) {
+            ReentrantLock lock = stripeFor(entry.getKey());
+            lock.lock();
+            try {
+                if (entry.getValue().lastEventMillis < cutoff && windows.remove(entry.getKey(), entry.getValue())) {
+                    flags.remove(entry.getKey());
+                    evicted++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        long dropped = droppedEvents.sumThenReset();
+        if (evicted > 0 || dropped > 0) {
+            log.debug("Risk windows: evicted {} idle users, dropped {} events over capacity, tracking {}", evicted, dropped, windows.size());
+        }
+    }
+
+    private boolean isNight(int hour) {
+        return nightStartHour <= nightEndHour
+                ? hour >= nightStartHour && hour < nightEndHour
+                : hour >= nightStartHour || hour < nightEndHour;
+    }
+
+    private ReentrantLock stripeFor(UUID userId) {
+        int h = userId.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.fiap.challenge.gamblers.services;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only columnar copy of the transactions table: one primitive array per column
+ * (dense user index, epoch millis, amount in cents, type ordinal), about 21 bytes per row.
+ * Rows are appended in (createdAt, id) order, so the time column is sorted.
+ * A single writer appends; readers work on {@link View}s, which never see rows appended after them.
+ */
+final class TransactionColumns {
+
+    private static final int INITIAL_CAPACITY = 1 << 16;
+
+    private int[] users = new int[INITIAL_CAPACITY];
+    private long[] times = new long[INITIAL_CAPACITY];
+    private long[] cents = new long[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private UUID[] userIds = new UUID[1024];
+    private final Map<UUID, Integer> userIndex = new ConcurrentHashMap<>();
+    private int userCount;
+    private int size;
+
+    private volatile View view = new View(0, users, times, cents, types, userIds, 0);
+
+    /** Immutable, consistent prefix of the columns. */
+    record View(int size, int[] users, long[] times, long[] cents, byte[] types, UUID[] userIds, int userCount) {
+
+        /** First row with time >= millis (rows are sorted by time). */
+        int lowerBound(long millis) {
+            int lo = 0, hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (times[mid] < millis) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+    }
+
+    // Writer side only; call publish() to make appended rows visible
+    void append(UUID userId, long epochMillis, long amountCents, byte typeOrdinal) {
+        if (size == times.length) grow();
+        Integer index = userIndex.get(userId);
+        users[size] = index != null ? index : addUser(userId);
+        times[size] = epochMillis;
+        cents[size] = amountCents;
+        types[size] = typeOrdinal;
+        size++;
+    }
+
+    void publish() {
+        view = new View(size, users, times, cents, types, userIds, userCount);
+    }
+
+    View view() {
+        return view;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Dense index of the user, or -1; callers ignore indexes beyond their view's userCount
+    int userIndexOf(UUID userId) {
+        return userIndex.getOrDefault(userId, -1);
+    }
+
+    private int addUser(UUID userId) {
+        if (userCount == userIds.length) userIds = Arrays.copyOf(userIds, userIds.length * 2);
+        userIds[userCount] = userId;
+        userIndex.put(userId, userCount);
+        return userCount++;
+    }
+
+    // New arrays are copies, so views holding the old ones stay valid
+    private void grow() {
+        int capacity = times.length * 2;
+        users = Arrays.copyOf(users, capacity);
+        times = Arrays.copyOf(times, capacity);
+        cents = Arrays.copyOf(cents, capacity);
+        types = Arrays.copyOf(types, capacity);
+    }
+}
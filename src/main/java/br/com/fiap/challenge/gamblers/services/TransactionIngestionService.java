@@ -0,0 +1,271 @@
+package br.com.fiap.challenge.gamblers.services;
+
+import br.com.fiap.challenge.gamblers.entities.IngestionAck;
+import br.com.fiap.challenge.gamblers.entities.IngestionStatus;
+import br.com.fiap.challenge.gamblers.entities.Transaction;
+import br.com.fiap.challenge.gamblers.entities.dtos.CreateTransactionDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionIngestionStatusDTO;
+import br.com.fiap.challenge.gamblers.entities.ids.UuidV7;
+import br.com.fiap.challenge.gamblers.exception.NotFoundException;
+import br.com.fiap.challenge.gamblers.exception.ServiceBusyException;
+import br.com.fiap.challenge.gamblers.exception.TooManyRequestsException;
+import br.com.fiap.challenge.gamblers.interfaces.ITransactionIngestionService;
+import br.com.fiap.challenge.gamblers.repositories.TransactionRepository;
+import br.com.fiap.challenge.gamblers.repositories.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Opt-in asynchronous write path behind POST /api/transactions (app.ingest.enabled). A request is
+ * validated, gets its UUIDv7 id up front and goes onto a bounded lock-free ring buffer; a few writer
+ * threads drain whatever has accumulated and insert it in one database transaction (group commit), so
+ * the commit rate no longer caps the request rate. With ack=COMMIT the request waits for its batch to
+ * commit; with ack=ENQUEUE it is answered at once and the outcome is polled by id. A full buffer sheds
+ * the request with 429.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionIngestionService implements ITransactionIngestionService {
+    private static final Logger log = LoggerFactory.getLogger(TransactionIngestionService.class);
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+    // How long an idle writer sleeps before looking at the buffer again; bounds the added latency
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+
+    private final TransactionService transactionService;
+    private final UserRepository userRepository;
+    private final TransactionRepository transactionRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.ingest.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.ingest.ack:COMMIT}")
+    private IngestionAck ack;
+
+    @Value("${app.ingest.capacity:65536}")
+    private int capacity;
+
+    @Value("${app.ingest.writers:2}")
+    private int writers;
+
+    @Value("${app.ingest.batch-size:500}")
+    private int batchSize;
+
+    // With ack=COMMIT, how long a request waits for its batch before it is answered 202 and left to poll
+    @Value("${app.ingest.commit-timeout:5s}")
+    private Duration commitTimeout;
+
+    @Value("${app.ingest.status-retention:10m}")
+    private Duration statusRetention;
+
+    @Value("${app.ingest.status-max-entries:1000000}")
+    private long statusMaxEntries;
+
+    private IngestionRingBuffer<Pending> buffer;
+    // Queued but not yet written; bounded by the buffer capacity
+    private final Map<UUID, Pending> pending = new ConcurrentHashMap<>();
+    private Cache<UUID, TransactionIngestionStatusDTO> outcomes;
+    private final List<Thread> writerThreads = new ArrayList<>();
+    private volatile boolean running;
+
+    private TransactionTemplate transactionTemplate;
+    private Counter rejected;
+    private DistributionSummary batchSizes;
+    private Timer commitTimer;
+    private Timer latencyTimer;
+
+    private record Pending(UUID id, CreateTransactionDTO dto, long enqueuedAt, CompletableFuture<TransactionDTO> committed) {
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) return;
+        buffer = new IngestionRingBuffer<>(capacity);
+        outcomes = Caffeine.newBuilder()
+                .maximumSize(statusMaxEntries)
+                .expireAfterWrite(statusRetention)
+                .build();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("transactions.ingest.queue", buffer, IngestionRingBuffer::size)
+                .description("Transactions queued for the ingestion writers").register(meterRegistry);
+        rejected = Counter.builder("transactions.ingest.rejected")
+                .description("Transactions refused with 429 because the ingestion queue was full").register(meterRegistry);
+        batchSizes = DistributionSummary.builder("transactions.ingest.batch.size")
+                .description("Transactions inserted per group commit").register(meterRegistry);
+        commitTimer = Timer.builder("transactions.ingest.commit")
+                .description("Time to insert and commit one batch").register(meterRegistry);
+        latencyTimer = Timer.builder("transactions.ingest.latency")
+                .description("Time from enqueue to commit").register(meterRegistry);
+
+        running = true;
+        for (int i = 1; i <= Math.max(1, writers); i++) {
+            writerThreads.add(Thread.ofPlatform().name("transaction-ingest-" + i).daemon(true).start(this::drain));
+        }
+        log.info("Async transaction ingestion on: {} writers, buffer of {}, ack after {}", writerThreads.size(), buffer.capacity(), ack);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!running) return;
+        // Writers empty the buffer before exiting
+        running = false;
+        for (Thread writer : writerThreads) writer.join(commitTimeout.toMillis());
+        if (buffer.size() > 0) log.warn("Stopped with {} queued transactions not written", buffer.size());
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return running;
+    }
+
+    @Override
+    public TransactionIngestionStatusDTO submit(CreateTransactionDTO dto) {
+        if (!running) throw new ServiceBusyException("Transaction ingestion is not running", RETRY_AFTER);
+        Pending entry = new Pending(UuidV7.next(), dto, System.nanoTime(),
+                ack == IngestionAck.COMMIT ? new CompletableFuture<>() : null);
+        pending.put(entry.id(), entry);
+        if (!buffer.offer(entry)) {
+            pending.remove(entry.id());
+            rejected.increment();
+            throw new TooManyRequestsException("Transaction ingestion queue is full, try again later", RETRY_AFTER);
+        }
+        if (entry.committed() == null) return status(entry.id(), IngestionStatus.PENDING, null, null);
+
+        try {
+            TransactionDTO created = entry.committed().get(commitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return status(entry.id(), IngestionStatus.COMMITTED, null, created);
+        } catch (TimeoutException e) {
+            // Still queued: the client gets the id and polls instead of retrying a possible duplicate
+            return status(entry.id(), IngestionStatus.PENDING, null, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return status(entry.id(), IngestionStatus.PENDING, null, null);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public TransactionIngestionStatusDTO status(UUID id) {
+        if (pending.containsKey(id)) return status(id, IngestionStatus.PENDING, null, null);
+        TransactionIngestionStatusDTO outcome = outcomes == null ? null : outcomes.getIfPresent(id);
+        if (outcome != null) return outcome;
+        // Older than the retention, written before a restart, or created synchronously
+        if (transactionRepository.existsById(id)) return status(id, IngestionStatus.COMMITTED, null, null);
+        throw new NotFoundException("Transaction not found");
+    }
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (true) {
+            // Whatever queued up while the previous batch was committing goes into the next one
+            buffer.drainTo(batch, batchSize);
+            if (batch.isEmpty()) {
+                if (!running) return;
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        Map<UUID, TransactionDTO> created;
+        try {
+            created = commitTimer.record(() -> transactionTemplate.execute(status -> insert(batch)));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                log.warn("Could not write ingested transaction {}", batch.get(0).id(), e);
+                complete(batch.get(0), null, e);
+                return;
+            }
+            // One bad row must not fail the others: retry them one per transaction
+            log.warn("Group commit of {} ingested transactions failed, retrying them one by one: {}", batch.size(), e.getMessage());
+            for (Pending entry : batch) write(List.of(entry));
+            return;
+        }
+        batchSizes.record(created.size());
+        for (Pending entry : batch) {
+            TransactionDTO dto = created.get(entry.id());
+            complete(entry, dto, dto == null ? new NotFoundException("User not found") : null);
+        }
+    }
+
+    private Map<UUID, TransactionDTO> insert(List<Pending> batch) {
+        Set<UUID> userIds = new HashSet<>();
+        for (Pending entry : batch) userIds.add(entry.dto().getUserId());
+        Set<UUID> existingUsers = new HashSet<>(userRepository.findExistingIds(userIds));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Transaction> rows = new ArrayList<>(batch.size());
+        for (Pending entry : batch) {
+            CreateTransactionDTO dto = entry.dto();
+            if (!existingUsers.contains(dto.getUserId())) continue;
+            rows.add(Transaction.builder()
+                    .id(entry.id())
+                    .user(userRepository.getReferenceById(dto.getUserId()))
+                    .amount(dto.getAmount())
+                    .description(dto.getDescription())
+                    .type(dto.getType())
+                    .createdAt(now)
+                    .build());
+        }
+        Map<UUID, TransactionDTO> created = new HashMap<>();
+        if (!rows.isEmpty()) {
+            for (TransactionDTO dto : transactionService.insertAll(rows)) created.put(dto.getId(), dto);
+        }
+        return created;
+    }
+
+    private void complete(Pending entry, TransactionDTO created, RuntimeException failure) {
+        // Record the outcome before leaving the pending map, so status() never sees neither
+        outcomes.put(entry.id(), failure == null
+                ? status(entry.id(), IngestionStatus.COMMITTED, null, created)
+                : status(entry.id(), IngestionStatus.FAILED,
+                        failure instanceof NotFoundException ? failure.getMessage() : "Transaction could not be written", null));
+        pending.remove(entry.id());
+        latencyTimer.record(System.nanoTime() - entry.enqueuedAt(), TimeUnit.NANOSECONDS);
+        if (entry.committed() == null) return;
+        if (failure == null) entry.committed().complete(created);
+        else entry.committed().completeExceptionally(failure);
+    }
+
+    private static TransactionIngestionStatusDTO status(UUID id, IngestionStatus status, String error, TransactionDTO transaction) {
+        return TransactionIngestionStatusDTO.builder().id(id).status(status).error(error).transaction(transaction).build();
+    }
+}
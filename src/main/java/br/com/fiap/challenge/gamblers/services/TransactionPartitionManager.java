@@ -0,0 +1,123 @@
+package br.com.fiap.challenge.gamblers.services;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly range partitions of the transactions table (db/migration V2) in shape:
+ * pre-creates the upcoming months so inserts never land in transactions_default, and optionally
+ * detaches partitions past the retention window into an archive schema (kept for dumps/cold storage).
+ * Does nothing unless the database is Postgres and transactions is partitioned.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionPartitionManager.class);
+    private static final String PARENT = "transactions";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("transactions_p(\\d{4})_(\\d{2})");
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.partitions.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.partitions.premake-months:3}")
+    private int premakeMonths;
+
+    // 0 keeps every partition attached
+    @Value("${app.partitions.retention-months:0}")
+    private int retentionMonths;
+
+    @Value("${app.partitions.archive-schema:archive}")
+    private String archiveSchema;
+
+    @PostConstruct
+    public void init() {
+        if (!IDENTIFIER.matcher(archiveSchema).matches()) {
+            throw new IllegalStateException("Invalid app.partitions.archive-schema: " + archiveSchema);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.partitions.cron:0 0 3 * * *}")
+    public void maintain() {
+        maintain(LocalDate.now());
+    }
+
+    public void maintain(LocalDate today) {
+        if (!enabled || !isPartitioned()) return;
+
+        YearMonth current = YearMonth.from(today);
+        for (int i = 0; i <= premakeMonths; i++) {
+            createPartition(current.plusMonths(i));
+        }
+
+        if (retentionMonths <= 0) return;
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+        for (String name : attachedPartitions()) {
+            Matcher m = PARTITION_NAME.matcher(name);
+            if (m.matches() && YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))).isBefore(oldestKept)) {
+                archive(name);
+            }
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        String name = PARENT + "_p" + month.format(SUFFIX);
+        String sql = "CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF " + PARENT
+                + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+        try {
+            jdbcTemplate.execute(sql);
+        } catch (DataAccessException e) {
+            // Typically rows for that month already sit in transactions_default and must be moved by hand
+            log.error("Could not create partition {}: {}", name, e.getMessage());
+        }
+    }
+
+    private void archive(String name) {
+        try {
+            jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + archiveSchema);
+            jdbcTemplate.execute("ALTER TABLE " + PARENT + " DETACH PARTITION " + name);
+            jdbcTemplate.execute("ALTER TABLE " + name + " SET SCHEMA " + archiveSchema);
+            log.info("Archived partition {} into schema {}", name, archiveSchema);
+        } catch (DataAccessException e) {
+            log.error("Could not archive partition {}: {}", name, e.getMessage());
+        }
+    }
+
+    private List<String> attachedPartitions() {
+        return jdbcTemplate.queryForList(
+                "select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid "
+                        + "join pg_class p on p.oid = i.inhparent where p.relname = '" + PARENT + "' order by c.relname",
+                String.class);
+    }
+
+    private boolean isPartitioned() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equalsIgnoreCase(product)) return false;
+        Integer count = jdbcTemplate.queryForObject(
+                "select count(*) from pg_partitioned_table pt join pg_class c on c.oid = pt.partrelid where c.relname = '" + PARENT + "'",
+                Integer.class);
+        return count != null && count > 0;
+    }
+}
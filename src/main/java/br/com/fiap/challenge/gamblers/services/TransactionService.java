@@ -1,27 +1,69 @@
 package br.com.fiap.challenge.gamblers.services;
 
+import br.com.fiap.challenge.gamblers.entities.ChangeEntity;
+import br.com.fiap.challenge.gamblers.entities.OutboxEventType;
 import br.com.fiap.challenge.gamblers.entities.Transaction;
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
 import br.com.fiap.challenge.gamblers.entities.User;
+import br.com.fiap.challenge.gamblers.entities.dtos.BulkTransactionResponse;
+import br.com.fiap.challenge.gamblers.entities.dtos.BulkTransactionResult;
 import br.com.fiap.challenge.gamblers.entities.dtos.CreateTransactionDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.CursorPage;
 import br.com.fiap.challenge.gamblers.entities.dtos.TransactionDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionFilterRequest;
+import br.com.fiap.challenge.gamblers.events.TransactionCreatedEvent;
 import br.com.fiap.challenge.gamblers.exception.NotFoundException;
 import br.com.fiap.challenge.gamblers.repositories.TransactionRepository;
 import br.com.fiap.challenge.gamblers.interfaces.ITransactionService;
 import br.com.fiap.challenge.gamblers.repositories.UserRepository;
+import br.com.fiap.challenge.gamblers.repositories.specifications.TransactionSpecifications;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TransactionService implements ITransactionService {
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+    static final int MAX_BULK_SIZE = 5000;
+    private static final LocalDateTime MIN_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final Sort KEYSET_ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
     private final TransactionRepository transactionRepository;
     private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final BalanceService balanceService;
+    private final ActivityService activityService;
+    private final ChangeFeedService changeFeedService;
+    private final OutboxService outboxService;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional
     public TransactionDTO create(CreateTransactionDTO dto) {
         User user = userRepository.findById(dto.getUserId()).orElseThrow(() -> new NotFoundException("User not found"));
 
@@ -34,44 +76,193 @@ public class TransactionService implements ITransactionService {
                 .build();
 
         tx = transactionRepository.save(tx);
-        return toDTO(tx);
+        balanceService.applyCreated(tx);
+        activityService.applyCreated(tx);
+        changeFeedService.recordUpsert(ChangeEntity.TRANSACTION, tx.getId());
+        TransactionDTO created = toDTO(tx);
+        outboxService.append(OutboxEventType.TRANSACTION_CREATED, created.getId(), created);
+        eventPublisher.publishEvent(new TransactionCreatedEvent(created));
+        return created;
+    }
+
+    /**
+     * Inserts many transactions in one database transaction. Rows are validated up front and users are
+     * resolved with a single IN query, so invalid rows are reported individually instead of failing the batch.
+     * Ids come from the app-side UUID generator, which keeps Hibernate JDBC batching effective.
+     */
+    @Override
+    @Transactional
+    public BulkTransactionResponse createBulk(List<CreateTransactionDTO> dtos) {
+        if (dtos.size() > MAX_BULK_SIZE) throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " transactions per request");
+
+        Set<UUID> userIds = dtos.stream().filter(Objects::nonNull).map(CreateTransactionDTO::getUserId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<UUID> existingUsers = userIds.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingIds(userIds));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<BulkTransactionResult> results = new ArrayList<>(dtos.size());
+        List<Transaction> accepted = new ArrayList<>();
+        List<BulkTransactionResult> acceptedResults = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            CreateTransactionDTO dto = dtos.get(i);
+            String error = validateBulkRow(dto, existingUsers);
+            BulkTransactionResult result = BulkTransactionResult.builder().index(i).created(error == null).error(error).build();
+            results.add(result);
+            if (error != null) continue;
+
+            accepted.add(Transaction.builder()
+                    .user(userRepository.getReferenceById(dto.getUserId()))
+                    .amount(dto.getAmount())
+                    .description(dto.getDescription())
+                    .type(dto.getType())
+                    .createdAt(now)
+                    .build());
+            acceptedResults.add(result);
+        }
+
+        insertAll(accepted);
+        for (int i = 0; i < accepted.size(); i++) acceptedResults.get(i).setId(accepted.get(i).getId());
+        return new BulkTransactionResponse(accepted.size(), dtos.size() - accepted.size(), results);
+    }
+
+    /**
+     * Inserts already validated transactions whose users exist, keeping any pre-assigned id, and applies
+     * them to the balance ledger and activity rollups. Shared by bulk creation and the async ingestion writers.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<TransactionDTO> insertAll(List<Transaction> transactions) {
+        transactionRepository.saveAll(transactions);
+        balanceService.applyCreatedAll(transactions);
+        activityService.applyCreatedAll(transactions);
+        changeFeedService.recordUpserts(ChangeEntity.TRANSACTION, transactions.stream().map(Transaction::getId).toList());
+        List<TransactionDTO> created = new ArrayList<>(transactions.size());
+        for (Transaction tx : transactions) {
+            TransactionDTO dto = toDTO(tx);
+            created.add(dto);
+            eventPublisher.publishEvent(new TransactionCreatedEvent(dto));
+        }
+        outboxService.appendAll(OutboxEventType.TRANSACTION_CREATED, created, TransactionDTO::getId);
+        return created;
+    }
+
+    private String validateBulkRow(CreateTransactionDTO dto, Set<UUID> existingUsers) {
+        if (dto == null) return "Empty row";
+        Set<ConstraintViolation<CreateTransactionDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (!existingUsers.contains(dto.getUserId())) return "User not found";
+        return null;
     }
 
-    public List<TransactionDTO> findByUser(UUID userId) {
-        return transactionRepository.findByUserId(userId).stream().map(this::toDTO).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<TransactionDTO> findByUser(UUID userId, LocalDateTime from, LocalDateTime to) {
+        // Both bounds are required rather than defaulted, so pruning to the matching partitions never drops history silently
+        if (from == null || to == null) throw new IllegalArgumentException("'from' and 'to' are required");
+        if (!from.isBefore(to)) throw new IllegalArgumentException("'from' must be before 'to'");
+        return transactionRepository.findDTOsByUserId(userId, from, to);
     }
 
-    public List<TransactionDTO> findAll() {
-        return findAll(null, null);
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TransactionDTO> findAll(TransactionFilterRequest filter) {
+        int size = pageSize(filter.getSize());
+        KeysetCursor after = filter.getCursor() == null || filter.getCursor().isBlank() ? null : KeysetCursor.decode(filter.getCursor());
+        if (filter.getFrom() != null && filter.getTo() != null && !filter.getFrom().isBefore(filter.getTo())) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+
+        Specification<Transaction> spec = Specification.allOf(
+                TransactionSpecifications.descriptionContains(filter.getDescription()),
+                TransactionSpecifications.hasType(parseType(filter.getType())),
+                TransactionSpecifications.createdBetween(filter.getFrom(), filter.getTo()),
+                after == null ? null : TransactionSpecifications.after(after.createdAt(), after.id()));
+
+        // Fetch one extra row to know whether another page exists without a count query
+        List<Transaction> rows = transactionRepository.findBy(spec, q -> q.sortBy(KEYSET_ORDER).limit(size + 1).all());
+
+        boolean hasMore = rows.size() > size;
+        List<Transaction> page = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Transaction last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(page.stream().map(this::toDTO).collect(Collectors.toList()), nextCursor);
     }
 
     @Override
-    public List<TransactionDTO> findAll(String description, String type) {
-        return transactionRepository.findAll().stream()
-                .filter(tx -> description == null || tx.getDescription().toLowerCase().contains(description.toLowerCase()))
-                .filter(tx -> type == null || tx.getType().name().equalsIgnoreCase(type))
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public void exportTo(OutputStream out, LocalDateTime from, LocalDateTime to, TransactionType type) throws IOException {
+        LocalDateTime lower = from != null ? from : MIN_TIME;
+        LocalDateTime upper = to != null ? to : MAX_TIME;
+        if (!lower.isBefore(upper)) throw new IllegalArgumentException("'from' must be before 'to'");
+
+        try (Stream<TransactionDTO> rows = transactionRepository.streamForExport(lower, upper, type);
+             JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.setRootValueSeparator(null);
+            // writeValue flushes after each value by default, which would push every row down to the socket
+            ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            long written = 0;
+            for (TransactionDTO dto : (Iterable<TransactionDTO>) rows::iterator) {
+                writer.writeValue(gen, dto);
+                gen.writeRaw('\n');
+                // Push each fetch batch to the client instead of buffering the whole export
+                if (++written % TransactionRepository.EXPORT_FETCH_SIZE == 0) gen.flush();
+            }
+            gen.flush();
+        }
     }
 
+    @Transactional(readOnly = true)
     public TransactionDTO findById(UUID id) {
         Transaction tx = transactionRepository.findById(id).orElseThrow(() -> new NotFoundException("Transaction not found"));
         return toDTO(tx);
     }
 
+    @Transactional
     public void delete(UUID id) {
-        if (!transactionRepository.existsById(id)) throw new NotFoundException("Transaction not found");
-        transactionRepository.deleteById(id);
+        Transaction tx = transactionRepository.findById(id).orElseThrow(() -> new NotFoundException("Transaction not found"));
+        transactionRepository.delete(tx);
+        balanceService.applyRemoved(tx);
+        activityService.applyRemoved(tx);
+        changeFeedService.recordDelete(ChangeEntity.TRANSACTION, id);
+        outboxService.append(OutboxEventType.TRANSACTION_DELETED, id, toDTO(tx));
     }
 
+    @Transactional
     public TransactionDTO update(UUID id, CreateTransactionDTO dto) {
         Transaction tx = transactionRepository.findById(id).orElseThrow(() -> new NotFoundException("Transaction not found"));
+        balanceService.applyRemoved(tx);
+        activityService.applyRemoved(tx);
         // update fields
         tx.setAmount(dto.getAmount());
         tx.setDescription(dto.getDescription());
         tx.setType(dto.getType());
         tx = transactionRepository.save(tx);
-        return toDTO(tx);
+        balanceService.applyCreated(tx);
+        activityService.applyCreated(tx);
+        changeFeedService.recordUpsert(ChangeEntity.TRANSACTION, id);
+        TransactionDTO updated = toDTO(tx);
+        outboxService.append(OutboxEventType.TRANSACTION_UPDATED, id, updated);
+        return updated;
+    }
+
+    private static int pageSize(Integer requested) {
+        if (requested == null || requested <= 0) return DEFAULT_PAGE_SIZE;
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+
+    private static TransactionType parseType(String type) {
+        if (type == null || type.isBlank()) return null;
+        try {
+            return TransactionType.valueOf(type.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid transaction type: " + type);
+        }
     }
 
     private TransactionDTO toDTO(Transaction tx) {
@@ -0,0 +1,228 @@
+package br.com.fiap.challenge.gamblers.services;
+
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionDTO;
+import br.com.fiap.challenge.gamblers.events.TransactionCreatedEvent;
+import br.com.fiap.challenge.gamblers.exception.ServiceBusyException;
+import br.com.fiap.challenge.gamblers.interfaces.ITransactionStreamService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory fan-out of committed transactions to Server-Sent Events subscribers (GET /api/transactions/stream),
+ * so live dashboards stop polling the database. Subscribers are indexed by the user they watch; each new
+ * transaction is serialized once and offered to the matching subscribers' bounded buffers without blocking the
+ * committing thread, and virtual threads write the buffers out. A subscriber whose buffer fills up (a client
+ * that cannot keep up) is disconnected rather than slowing everyone else down; EventSource clients reconnect.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionStreamHub implements ITransactionStreamService {
+    private static final Logger log = LoggerFactory.getLogger(TransactionStreamHub.class);
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(5);
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.stream.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${app.stream.buffer-size:256}")
+    private int bufferSize;
+
+    // Connections are closed after this; EventSource reconnects on its own
+    @Value("${app.stream.timeout:30m}")
+    private Duration timeout;
+
+    private final Map<UUID, Set<Subscriber>> byUser = new ConcurrentHashMap<>();
+    private final Set<Subscriber> allUsers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    // A send blocks while the client's socket is full; on a virtual thread that costs no platform thread
+    private ExecutorService senders;
+    private Counter evicted;
+
+    private record StreamEvent(String id, String json) {
+    }
+
+    private final class Subscriber {
+        final UUID userId;
+        final TransactionType type;
+        final SseEmitter emitter;
+        final IngestionRingBuffer<StreamEvent> buffer = new IngestionRingBuffer<>(bufferSize);
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+        volatile boolean heartbeatDue;
+
+        Subscriber(UUID userId, TransactionType type, SseEmitter emitter) {
+            this.userId = userId;
+            this.type = type;
+            this.emitter = emitter;
+        }
+
+        boolean matches(TransactionDTO tx) {
+            return type == null || type == tx.getType();
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        senders = Executors.newVirtualThreadPerTaskExecutor();
+        Gauge.builder("transactions.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open live transaction feeds").register(meterRegistry);
+        evicted = Counter.builder("transactions.stream.evicted")
+                .description("Live feed subscribers disconnected for falling behind").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Set<Subscriber> subscribers : byUser.values()) subscribers.forEach(this::close);
+        allUsers.forEach(this::close);
+        senders.shutdown();
+    }
+
+    @Override
+    public SseEmitter subscribe(UUID userId, TransactionType type) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceBusyException("Too many live transaction feeds open, try again later", RETRY_AFTER);
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(userId, type, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        if (userId == null) {
+            allUsers.add(subscriber);
+        } else {
+            byUser.compute(userId, (id, subscribers) -> {
+                Set<Subscriber> set = subscribers == null ? ConcurrentHashMap.newKeySet() : subscribers;
+                set.add(subscriber);
+                return set;
+            });
+        }
+        return emitter;
+    }
+
+    // After commit, so rolled back transactions are never shown; runs on the committing thread and never blocks
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionCreated(TransactionCreatedEvent event) {
+        if (subscriberCount.get() == 0) return;
+        TransactionDTO tx = event.transaction();
+        StreamEvent streamEvent = null;
+        for (Set<Subscriber> subscribers : List.of(byUser.getOrDefault(tx.getUserId(), Set.of()), allUsers)) {
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.matches(tx)) continue;
+                // Serialized once per transaction, and only if someone is watching
+                if (streamEvent == null) streamEvent = serialize(tx);
+                offer(subscriber, streamEvent);
+            }
+        }
+    }
+
+    // Keeps idle connections open through proxies and finds clients that went away
+    @Scheduled(fixedDelayString = "${app.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Set<Subscriber> subscribers : byUser.values()) {
+            for (Subscriber subscriber : subscribers) requestHeartbeat(subscriber);
+        }
+        allUsers.forEach(this::requestHeartbeat);
+    }
+
+    private void requestHeartbeat(Subscriber subscriber) {
+        subscriber.heartbeatDue = true;
+        schedule(subscriber);
+    }
+
+    private void offer(Subscriber subscriber, StreamEvent event) {
+        if (subscriber.buffer.offer(event)) {
+            schedule(subscriber);
+        } else if (!subscriber.closed.get()) {
+            evicted.increment();
+            log.debug("Disconnecting live feed subscriber that fell {} events behind", bufferSize);
+            close(subscriber);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) senders.execute(() -> flush(subscriber));
+    }
+
+    private void flush(Subscriber subscriber) {
+        try {
+            do {
+                boolean sent = false;
+                StreamEvent event;
+                while (!subscriber.closed.get() && (event = subscriber.buffer.poll()) != null) {
+                    subscriber.emitter.send(SseEmitter.event().id(event.id()).name("transaction").data(event.json(), MediaType.APPLICATION_JSON));
+                    sent = true;
+                }
+                if (subscriber.heartbeatDue && !subscriber.closed.get()) {
+                    subscriber.heartbeatDue = false;
+                    if (!sent) subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+                }
+                subscriber.scheduled.set(false);
+                // An offer that saw scheduled == true just before the reset is picked up here
+            } while (subscriber.buffer.size() > 0 && !subscriber.closed.get() && subscriber.scheduled.compareAndSet(false, true));
+        } catch (IOException | IllegalStateException e) {
+            // The client disconnected or the emitter already completed
+            subscriber.scheduled.set(false);
+            close(subscriber);
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) return;
+        remove(subscriber);
+        // complete() waits for a send in progress, so it must not run on the publishing thread
+        senders.execute(subscriber.emitter::complete);
+    }
+
+    private void remove(Subscriber subscriber) {
+        boolean removed;
+        if (subscriber.userId == null) {
+            removed = allUsers.remove(subscriber);
+        } else {
+            boolean[] found = new boolean[1];
+            byUser.computeIfPresent(subscriber.userId, (id, subscribers) -> {
+                found[0] = subscribers.remove(subscriber);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+            removed = found[0];
+        }
+        if (removed) subscriberCount.decrementAndGet();
+    }
+
+    private StreamEvent serialize(TransactionDTO tx) {
+        try {
+            return new StreamEvent(tx.getId().toString(), objectMapper.writeValueAsString(tx));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize transaction " + tx.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.fiap.challenge.gamblers.services;
+
+/**
+ * Bucketed sliding window of one user's activity. Each bucket packs four saturating 16-bit counters
+ * (bets, deposits, night-time events, loss-chasing deposits) into a single long, plus the bet volume in cents,
+ * so a user costs a few hundred bytes. Running totals make every read O(1).
+ * Not thread-safe: callers hold the user's stripe lock.
+ */
+final class UserRiskWindow {
+    static final int BETS = 0;
+    static final int DEPOSITS = 1;
+    static final int NIGHT = 2;
+    static final int CHASES = 3;
+
+    private static final long COUNTER_MASK = 0xFFFFL;
+
+    private final long[] counters;
+    private final long[] betCents;
+    private long headBucket = Long.MIN_VALUE;
+
+    private final int[] totals = new int[4];
+    private long betCentsTotal;
+
+    long lastBetMillis = Long.MIN_VALUE;
+    long lastEventMillis;
+
+    UserRiskWindow(int buckets) {
+        this.counters = new long[buckets];
+        this.betCents = new long[buckets];
+    }
+
+    /**
+     * Moves the window so that {@code bucket} is inside it. Returns false for events older than the window.
+     * Clears at most {@code buckets} slots, so the cost per event is bounded by a constant.
+     */
+    boolean advanceTo(long bucket) {
+        int size = counters.length;
+        if (headBucket == Long.MIN_VALUE) {
+            headBucket = bucket;
+            return true;
+        }
+        if (bucket <= headBucket) return headBucket - bucket < size;
+
+        long steps = Math.min(bucket - headBucket, size);
+        for (long i = 1; i <= steps; i++) {
+            int slot = slot(headBucket + i);
+            for (int field = 0; field < totals.length; field++) totals[field] -= get(counters[slot], field);
+            betCentsTotal -= betCents[slot];
+            counters[slot] = 0;
+            betCents[slot] = 0;
+        }
+        headBucket = bucket;
+        return true;
+    }
+
+    void increment(long bucket, int field) {
+        int slot = slot(bucket);
+        long packed = counters[slot];
+        if (get(packed, field) == COUNTER_MASK) return;
+        counters[slot] = packed + (1L << (field * 16));
+        totals[field]++;
+    }
+
+    void addBetCents(long bucket, long cents) {
+        betCents[slot(bucket)] += cents;
+        betCentsTotal += cents;
+    }
+
+    int total(int field) {
+        return totals[field];
+    }
+
+    long betCentsTotal() {
+        return betCentsTotal;
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) counters.length);
+    }
+
+    private static long get(long packed, int field) {
+        return (packed >>> (field * 16)) & COUNTER_MASK;
+    }
+}
@@ -1,27 +1,48 @@
 package br.com.fiap.challenge.gamblers.services;
 
+import br.com.fiap.challenge.gamblers.entities.ChangeEntity;
+import br.com.fiap.challenge.gamblers.entities.OutboxEventType;
 import br.com.fiap.challenge.gamblers.entities.User;
 import br.com.fiap.challenge.gamblers.entities.dtos.CreateUserDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.CursorPage;
 import br.com.fiap.challenge.gamblers.entities.dtos.UserDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.UserFilterRequest;
+import br.com.fiap.challenge.gamblers.events.UserConsentChangedEvent;
 import br.com.fiap.challenge.gamblers.exception.NotFoundException;
 import br.com.fiap.challenge.gamblers.repositories.UserRepository;
+import br.com.fiap.challenge.gamblers.repositories.specifications.UserSpecifications;
+import br.com.fiap.challenge.gamblers.interfaces.IRefreshTokenService;
 import br.com.fiap.challenge.gamblers.interfaces.IUserService;
+import br.com.fiap.challenge.gamblers.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class UserService implements IUserService {
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+    private static final Sort KEYSET_ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
     private final UserRepository userRepository;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final IRefreshTokenService refreshTokenService;
+    private final ChangeFeedService changeFeedService;
+    private final OutboxService outboxService;
     private static final Logger log = LoggerFactory.getLogger(UserService.class);
 
+    @Transactional
     public UserDTO create(CreateUserDTO dto) {
         LocalDateTime now = LocalDateTime.now();
         User user = User.builder()
@@ -35,51 +56,84 @@ public class UserService implements IUserService {
                 .build();
 
         user = userRepository.save(user);
+        changeFeedService.recordUpsert(ChangeEntity.USER, user.getId());
 
         return toDTO(user);
     }
 
+    @Transactional(readOnly = true)
     public UserDTO findById(UUID id) {
         User user = userRepository.findById(id).orElseThrow(() -> new NotFoundException("User not found"));
         return toDTO(user);
     }
 
-    public java.util.List<UserDTO> findAll() {
-        return findAll(null, null);
-    }
-
     @Override
-    public java.util.List<UserDTO> findAll(String name, String email) {
-        return userRepository.findAll().stream()
-                .filter(u -> name == null || u.getName().toLowerCase().contains(name.toLowerCase()))
-                .filter(u -> email == null || u.getEmail().toLowerCase().contains(email.toLowerCase()))
-                .map(this::toDTO)
-                .toList();
+    @Transactional(readOnly = true)
+    public CursorPage<UserDTO> findAll(UserFilterRequest filter) {
+        int size = pageSize(filter.getSize());
+        KeysetCursor after = filter.getCursor() == null || filter.getCursor().isBlank() ? null : KeysetCursor.decode(filter.getCursor());
+
+        Specification<User> spec = Specification.allOf(
+                UserSpecifications.nameMatches(filter.getName()),
+                UserSpecifications.emailMatches(filter.getEmail()),
+                after == null ? null : UserSpecifications.after(after.createdAt(), after.id()));
+
+        // Fetch one extra row to know whether another page exists without a count query
+        List<User> rows = userRepository.findBy(spec, q -> q.sortBy(KEYSET_ORDER).limit(size + 1).all());
+
+        boolean hasMore = rows.size() > size;
+        List<User> page = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            User last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(page.stream().map(this::toDTO).toList(), nextCursor);
     }
 
+    // Read-modify-write: the read must join this transaction, or it would run read-only (on the replica, when routed)
+    @Transactional
     public UserDTO update(UUID id, br.com.fiap.challenge.gamblers.entities.dtos.UpdateUserDTO dto) {
         User user = userRepository.findById(id).orElseThrow(() -> new NotFoundException("User not found"));
+        String previousEmail = user.getEmail();
         if (dto.getName() != null) user.setName(dto.getName());
         if (dto.getEmail() != null) user.setEmail(dto.getEmail());
         user.setAdmin(dto.isAdmin());
         user = userRepository.save(user);
+        changeFeedService.recordUpsert(ChangeEntity.USER, id);
+        principalCache.invalidate(previousEmail);
         return toDTO(user);
     }
 
+    @Transactional
     public void delete(UUID id) {
-        if (!userRepository.existsById(id)) throw new NotFoundException("User not found");
+        String email = userRepository.findEmailById(id).orElseThrow(() -> new NotFoundException("User not found"));
+        // Before the delete cascades to refresh_tokens, which remember the access tokens issued to this user
+        refreshTokenService.revokeAll(id);
+        changeFeedService.recordUserDeleted(id);
+        outboxService.appendUserTransactionsDeleted(id);
         userRepository.deleteById(id);
+        principalCache.invalidate(email);
     }
 
+    @Transactional
     public UserDTO setConsent(UUID id, boolean consent) {
         User user = userRepository.findById(id).orElseThrow(() -> new NotFoundException("User not found"));
         user.setConsentGiven(consent);
         user.setConsentAt(consent ? LocalDateTime.now() : null);
         user = userRepository.save(user);
+        changeFeedService.recordUpsert(ChangeEntity.USER, id);
+        outboxService.append(OutboxEventType.USER_CONSENT_CHANGED, id, new UserConsentChangedEvent(id, consent, user.getConsentAt()));
+        principalCache.invalidate(user.getEmail());
         log.info("Consent recorded for user {}: {} at {}", id, consent, user.getConsentAt());
         return toDTO(user);
     }
 
+    private static int pageSize(Integer requested) {
+        if (requested == null || requested <= 0) return DEFAULT_PAGE_SIZE;
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+
     private UserDTO toDTO(User user) {
         return UserDTO.builder()
                 .id(user.getId())
@@ -0,0 +1,23 @@
+-- ===========================================
+-- V10 - Índices da busca de usuários (GET /api/users): trigramas (pg_trgm) para "contém" e
+-- text_pattern_ops para prefixos de termos curtos
+-- Roda fora de transação (V10__user_search_indexes.sql.conf) para criar os índices com CONCURRENTLY,
+-- sem bloquear escritas em users. Requer permissão para CREATE EXTENSION pg_trgm
+-- ===========================================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Cada índice é removido antes de ser criado: um CREATE INDEX CONCURRENTLY interrompido deixa um índice
+-- INVALID que IF NOT EXISTS pularia para sempre. Antes desta versão os índices eram criados na subida da
+-- aplicação; bancos que já os têm válidos os reconstroem uma única vez
+DROP INDEX CONCURRENTLY IF EXISTS idx_users_name_trgm;
+CREATE INDEX CONCURRENTLY idx_users_name_trgm ON users USING gin (lower(name) gin_trgm_ops);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_users_email_trgm;
+CREATE INDEX CONCURRENTLY idx_users_email_trgm ON users USING gin (lower(email) gin_trgm_ops);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_users_name_prefix;
+CREATE INDEX CONCURRENTLY idx_users_name_prefix ON users (lower(name) text_pattern_ops);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_users_email_prefix;
+CREATE INDEX CONCURRENTLY idx_users_email_prefix ON users (lower(email) text_pattern_ops);
@@ -0,0 +1,20 @@
+-- ===========================================
+-- V11 - Chaves de idempotência por usuário autenticado
+-- A chave era global: dois clientes que gerassem a mesma chave colidiam e o segundo recebia 400.
+-- Agora a PK é (principal, idempotency_key). As chaves existentes (retenção de 24h) ficam com o e-mail
+-- do dono da transação, que é quem a cria no caso comum; as demais expiram sem serem reaproveitadas
+-- ===========================================
+
+ALTER TABLE idempotency_keys ADD COLUMN IF NOT EXISTS principal VARCHAR(255);
+
+UPDATE idempotency_keys k
+SET principal = u.email
+FROM transactions t
+JOIN users u ON u.id = t.user_id
+WHERE t.id = k.transaction_id;
+
+UPDATE idempotency_keys SET principal = '' WHERE principal IS NULL;
+
+ALTER TABLE idempotency_keys ALTER COLUMN principal SET NOT NULL;
+ALTER TABLE idempotency_keys DROP CONSTRAINT IF EXISTS idempotency_keys_pkey;
+ALTER TABLE idempotency_keys ADD PRIMARY KEY (principal, idempotency_key);
@@ -0,0 +1,23 @@
+-- ===========================================
+-- V12 - seq do feed de alterações atribuído após o commit
+-- Com seq vindo da identity no insert, uma transação que commitasse depois de outra com seq maior
+-- (inserts em lote, group commit, exclusão de usuário com tombstones em cascata) podia ser pulada
+-- pelos consumidores. Os eventos passam a ser gravados sem seq, e o sequenciador numera apenas os
+-- já commitados, um por vez (trava change_feed_sequence), então os seqs visíveis nunca têm lacunas
+-- ===========================================
+
+-- A identity vira só a ordem de gravação; os eventos existentes mantêm o seq que os consumidores já conhecem
+ALTER TABLE change_events RENAME COLUMN seq TO id;
+ALTER TABLE change_events ADD COLUMN seq BIGINT;
+UPDATE change_events SET seq = id;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_change_events_seq ON change_events(seq);
+-- O sequenciador busca só os pendentes
+CREATE INDEX IF NOT EXISTS idx_change_events_unsequenced ON change_events(id) WHERE seq IS NULL;
+
+CREATE TABLE IF NOT EXISTS change_feed_sequence (
+    id INTEGER PRIMARY KEY,
+    last_seq BIGINT NOT NULL
+);
+
+INSERT INTO change_feed_sequence (id, last_seq)
+SELECT 1, COALESCE(MAX(seq), 0) FROM change_events;
@@ -0,0 +1,30 @@
+-- ===========================================
+-- V1 - Schema inicial (users, transactions)
+-- Bancos já criados pelo Hibernate (ddl-auto) são marcados como baseline nesta versão
+-- e não executam este script (spring.flyway.baseline-on-migrate=true): ele deve conter apenas
+-- o que esses bancos já têm. Tabelas e índices novos vão em migrações posteriores
+-- ===========================================
+
+CREATE TABLE IF NOT EXISTS users (
+    id UUID PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password_hash VARCHAR(255) NOT NULL,
+    admin BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    consent_given BOOLEAN NOT NULL DEFAULT FALSE,
+    consent_at TIMESTAMP(6) NULL
+);
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    amount DECIMAL(19,4) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_trans_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_user ON transactions(user_id);
+CREATE INDEX IF NOT EXISTS idx_transactions_created_at_id ON transactions(created_at DESC, id DESC);
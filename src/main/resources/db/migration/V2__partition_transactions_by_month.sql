@@ -0,0 +1,50 @@
+-- ===========================================
+-- V2 - Particionamento mensal de transactions por created_at
+-- Converte a tabela heap em tabela particionada por intervalo (RANGE) e copia os dados.
+-- Partições futuras são criadas pelo TransactionPartitionManager (app.partitions.*)
+-- ===========================================
+
+-- Libera os nomes usados pela nova tabela (índices e PK são globais no schema)
+DROP INDEX IF EXISTS idx_transactions_user;
+DROP INDEX IF EXISTS idx_transactions_created_at;
+DROP INDEX IF EXISTS idx_transactions_created_at_id;
+ALTER TABLE transactions RENAME TO transactions_legacy;
+ALTER INDEX IF EXISTS transactions_pkey RENAME TO transactions_legacy_pkey;
+
+-- A chave de partição precisa fazer parte da PK; ids continuam únicos por serem UUIDs
+CREATE TABLE transactions (
+    id UUID NOT NULL,
+    user_id UUID NOT NULL,
+    amount DECIMAL(19,4) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT transactions_pkey PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_trans_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) PARTITION BY RANGE (created_at);
+
+-- Rede de segurança para linhas fora das partições mensais; deve permanecer vazia
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+-- Uma partição por mês, do dado mais antigo até 3 meses à frente
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', coalesce((SELECT min(created_at) FROM transactions_legacy), now()))::date;
+    last_month DATE := (date_trunc('month', now()) + INTERVAL '3 months')::date;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                       'transactions_p' || to_char(month_start, 'YYYY_MM'),
+                       month_start, (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO transactions (id, user_id, amount, description, type, created_at)
+SELECT id, user_id, amount, description, type, created_at FROM transactions_legacy;
+
+DROP TABLE transactions_legacy;
+
+-- Índices particionados (criados em cada partição, inclusive nas futuras)
+CREATE INDEX idx_transactions_user ON transactions(user_id, created_at);
+CREATE INDEX idx_transactions_created_at_id ON transactions(created_at DESC, id DESC);
@@ -0,0 +1,19 @@
+-- ===========================================
+-- V5 - Agregados diários de atividade por usuário e tipo de transação
+-- Tabela criada vazia: preencher com POST /api/users/activity/rebuild
+-- ===========================================
+
+CREATE TABLE IF NOT EXISTS user_daily_activity (
+    user_id UUID NOT NULL,
+    activity_date DATE NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    total_amount DECIMAL(19,4) NOT NULL,
+    min_amount DECIMAL(19,4) NOT NULL,
+    max_amount DECIMAL(19,4) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    -- The primary key (user_id, activity_date, ...) also serves the per-user date range reads
+    PRIMARY KEY (user_id, activity_date, type),
+    CONSTRAINT fk_activity_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
@@ -0,0 +1,13 @@
+-- ===========================================
+-- V6 - Chaves de idempotência de POST /api/transactions (header Idempotency-Key)
+-- ===========================================
+
+-- Sem FK para transactions: a chave é gravada na mesma transação do insert e removida após a retenção
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    transaction_id UUID NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys(created_at);
@@ -0,0 +1,14 @@
+-- ===========================================
+-- V7 - Feed de alterações de transações e usuários (GET /api/changes)
+-- ===========================================
+
+-- Uma linha por criação/atualização/exclusão, gravada na mesma transação da alteração; seq é o cursor dos consumidores
+CREATE TABLE IF NOT EXISTS change_events (
+    seq BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id UUID NOT NULL,
+    operation VARCHAR(10) NOT NULL,
+    changed_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_change_events_changed_at ON change_events(changed_at);
@@ -0,0 +1,18 @@
+-- ===========================================
+-- V8 - Outbox transacional de eventos para sistemas externos (OutboxDispatcher)
+-- ===========================================
+
+-- Gravado na mesma transação da alteração; removido após a entrega ao destino (arquivo NDJSON ou HTTP)
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id UUID PRIMARY KEY,
+    aggregate_type VARCHAR(20) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000) NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_next_attempt_at ON outbox_events(next_attempt_at);
@@ -0,0 +1,42 @@
+-- ===========================================
+-- V9 - Preenche user_balances com os totais das transações existentes
+-- Bancos criados antes do livro-razão tinham a tabela vazia (ou só com os movimentos posteriores), e
+-- GET /api/users/{id}/balance devolvia zeros até alguém rodar POST /api/users/balances/rebuild.
+-- Roda antes da aplicação subir, sem escritas concorrentes, então recalcula e sobrescreve todas as linhas.
+-- Bancos marcados como baseline em V1 (criados pelo Hibernate) não têm user_balances nem o índice da
+-- paginação keyset de usuários: ambos são criados aqui antes do preenchimento
+-- ===========================================
+
+CREATE TABLE IF NOT EXISTS user_balances (
+    user_id UUID PRIMARY KEY,
+    balance DECIMAL(19,4) NOT NULL DEFAULT 0,
+    total_deposits DECIMAL(19,4) NOT NULL DEFAULT 0,
+    total_withdrawals DECIMAL(19,4) NOT NULL DEFAULT 0,
+    total_bets DECIMAL(19,4) NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_balance_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_users_created_at_id ON users(created_at DESC, id DESC);
+
+INSERT INTO user_balances (user_id, balance, total_deposits, total_withdrawals, total_bets, version, updated_at)
+SELECT u.id,
+       COALESCE(SUM(t.amount) FILTER (WHERE t.type = 'DEPOSIT'), 0)
+           - COALESCE(SUM(t.amount) FILTER (WHERE t.type = 'WITHDRAWAL'), 0)
+           - COALESCE(SUM(t.amount) FILTER (WHERE t.type = 'BET'), 0),
+       COALESCE(SUM(t.amount) FILTER (WHERE t.type = 'DEPOSIT'), 0),
+       COALESCE(SUM(t.amount) FILTER (WHERE t.type = 'WITHDRAWAL'), 0),
+       COALESCE(SUM(t.amount) FILTER (WHERE t.type = 'BET'), 0),
+       0,
+       CURRENT_TIMESTAMP
+FROM users u
+LEFT JOIN transactions t ON t.user_id = u.id
+GROUP BY u.id
+ON CONFLICT (user_id) DO UPDATE SET
+    balance = EXCLUDED.balance,
+    total_deposits = EXCLUDED.total_deposits,
+    total_withdrawals = EXCLUDED.total_withdrawals,
+    total_bets = EXCLUDED.total_bets,
+    version = user_balances.version + 1,
+    updated_at = EXCLUDED.updated_at;
@@ -3,6 +3,8 @@
 -- Versão: 1.0 - Schema inicial
 -- Data: 17/09/2025
 -- Descrição: Criação das tabelas users e transactions
+-- O schema versionado vive em db/migration (Flyway); transactions é particionada
+-- por mês a partir de V2__partition_transactions_by_month.sql
 -- ===========================================
 
 -- Enable pgcrypto extension (requires superuser privileges)
@@ -34,10 +36,110 @@ CREATE TABLE IF NOT EXISTS transactions (
     CONSTRAINT fk_trans_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
+-- Livro-razão materializado de saldos, mantido pelo TransactionService
+CREATE TABLE IF NOT EXISTS user_balances (
+    user_id UUID PRIMARY KEY,
+    balance DECIMAL(19,4) NOT NULL DEFAULT 0,
+    total_deposits DECIMAL(19,4) NOT NULL DEFAULT 0,
+    total_withdrawals DECIMAL(19,4) NOT NULL DEFAULT 0,
+    total_bets DECIMAL(19,4) NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_balance_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Agregados diários por usuário e tipo, mantidos pelo TransactionService (GET /api/users/{id}/activity)
+CREATE TABLE IF NOT EXISTS user_daily_activity (
+    user_id UUID NOT NULL,
+    activity_date DATE NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    total_amount DECIMAL(19,4) NOT NULL,
+    min_amount DECIMAL(19,4) NOT NULL,
+    max_amount DECIMAL(19,4) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, activity_date, type),
+    CONSTRAINT fk_activity_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
 -- Índices para performance
 CREATE INDEX IF NOT EXISTS idx_transactions_user ON transactions(user_id);
 CREATE INDEX IF NOT EXISTS idx_transactions_created_at ON transactions(created_at);
+-- Keyset pagination of GET /api/transactions seeks on (created_at, id) in descending order
+CREATE INDEX IF NOT EXISTS idx_transactions_created_at_id ON transactions(created_at DESC, id DESC);
 CREATE INDEX IF NOT EXISTS idx_users_email ON users(email);
+-- Busca de usuários (GET /api/users): paginação por (created_at, id), trigramas para "contém" e prefixo para termos curtos
+CREATE INDEX IF NOT EXISTS idx_users_created_at_id ON users(created_at DESC, id DESC);
+-- Os índices de trigramas e de prefixo são criados só pela migração V10 (CONCURRENTLY, fora de transação)
+
+-- Refresh tokens do login (apenas o hash SHA-256 é armazenado)
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    token_hash VARCHAR(64) NOT NULL UNIQUE,
+    family_id UUID NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    revoked_at TIMESTAMP(6) NULL,
+    access_jti VARCHAR(64) NULL,
+    CONSTRAINT fk_refresh_token_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family ON refresh_tokens(family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens(expires_at);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user ON refresh_tokens(user_id);
+
+-- Tokens JWT revogados antes de expirar (logout, exclusão de conta), pelo jti
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti VARCHAR(64) PRIMARY KEY,
+    expires_at TIMESTAMP(6) NOT NULL,
+    revoked_at TIMESTAMP(6) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_revoked_at ON revoked_tokens(revoked_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
+
+-- Chaves de idempotência de POST /api/transactions (header Idempotency-Key) por usuário, removidas após a retenção
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    principal VARCHAR(255) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    transaction_id UUID NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (principal, idempotency_key)
+);
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys(created_at);
+
+-- Feed de alterações de transações e usuários (GET /api/changes), incluindo exclusões; removido após a retenção.
+-- seq é atribuído pelo sequenciador depois do commit (último valor em change_feed_sequence)
+CREATE TABLE IF NOT EXISTS change_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    seq BIGINT,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id UUID NOT NULL,
+    operation VARCHAR(10) NOT NULL,
+    changed_at TIMESTAMP(6) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_change_events_changed_at ON change_events(changed_at);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_change_events_seq ON change_events(seq);
+CREATE INDEX IF NOT EXISTS idx_change_events_unsequenced ON change_events(id) WHERE seq IS NULL;
+CREATE TABLE IF NOT EXISTS change_feed_sequence (
+    id INTEGER PRIMARY KEY,
+    last_seq BIGINT NOT NULL
+);
+
+-- Outbox de eventos para sistemas externos, gravado na transação da alteração e removido após a entrega
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id UUID PRIMARY KEY,
+    aggregate_type VARCHAR(20) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000) NULL
+);
+CREATE INDEX IF NOT EXISTS idx_outbox_events_next_attempt_at ON outbox_events(next_attempt_at);
 
 -- ===========================================
 -- FIM DA VERSÃO 1.0
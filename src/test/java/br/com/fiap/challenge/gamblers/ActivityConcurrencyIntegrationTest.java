@@ -0,0 +1,96 @@
+package br.com.fiap.challenge.gamblers;
+
+import br.com.fiap.challenge.gamblers.entities.ActivityGranularity;
+import br.com.fiap.challenge.gamblers.entities.Transaction;
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import br.com.fiap.challenge.gamblers.entities.User;
+import br.com.fiap.challenge.gamblers.entities.dtos.ActivityBucketDTO;
+import br.com.fiap.challenge.gamblers.repositories.UserRepository;
+import br.com.fiap.challenge.gamblers.services.ActivityService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class ActivityConcurrencyIntegrationTest {
+
+    private static final int WRITERS = 8;
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testConcurrentFirstTransactionsOfADayAreAllCounted() throws Exception {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        try {
+            // Several users so the writers reliably collide on creating the rollup row
+            for (int round = 0; round < 5; round++) {
+                User user = newUser();
+                CyclicBarrier start = new CyclicBarrier(WRITERS);
+                List<Future<?>> writes = new ArrayList<>();
+                for (int i = 1; i <= WRITERS; i++) {
+                    BigDecimal amount = BigDecimal.valueOf(i);
+                    writes.add(pool.submit(() -> {
+                        start.await(5, TimeUnit.SECONDS);
+                        template.executeWithoutResult(status -> activityService.applyCreated(bet(user, amount)));
+                        return null;
+                    }));
+                }
+                for (Future<?> write : writes) write.get(30, TimeUnit.SECONDS);
+
+                List<ActivityBucketDTO> buckets = activityService.getActivity(user.getId(), DAY, DAY.plusDays(1), ActivityGranularity.DAY).getBuckets();
+                assertEquals(1, buckets.size());
+                assertEquals(WRITERS, buckets.get(0).getCount());
+                assertEquals(0, BigDecimal.valueOf(WRITERS * (WRITERS + 1) / 2).compareTo(buckets.get(0).getAmount()));
+                assertEquals(0, BigDecimal.ONE.compareTo(buckets.get(0).getMinAmount()));
+                assertEquals(0, BigDecimal.valueOf(WRITERS).compareTo(buckets.get(0).getMaxAmount()));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private User newUser() {
+        return userRepository.save(User.builder()
+                .name("Concurrent")
+                .email(UUID.randomUUID() + "@example.com")
+                .passwordHash("x")
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    private static Transaction bet(User user, BigDecimal amount) {
+        return Transaction.builder()
+                .id(UUID.randomUUID())
+                .user(user)
+                .amount(amount)
+                .description("Bet")
+                .type(TransactionType.BET)
+                .createdAt(DAY.atTime(12, 0))
+                .build();
+    }
+}
@@ -0,0 +1,186 @@
+package br.com.fiap.challenge.gamblers;
+
+import br.com.fiap.challenge.gamblers.entities.ActivityGranularity;
+import br.com.fiap.challenge.gamblers.entities.Transaction;
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import br.com.fiap.challenge.gamblers.entities.User;
+import br.com.fiap.challenge.gamblers.entities.UserDailyActivity;
+import br.com.fiap.challenge.gamblers.entities.dtos.ActivityBucketDTO;
+import br.com.fiap.challenge.gamblers.exception.NotFoundException;
+import br.com.fiap.challenge.gamblers.repositories.TransactionRepository;
+import br.com.fiap.challenge.gamblers.repositories.UserDailyActivityRepository;
+import br.com.fiap.challenge.gamblers.repositories.UserRepository;
+import br.com.fiap.challenge.gamblers.services.ActivityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ActivityServiceTest {
+
+    @Mock
+    private UserDailyActivityRepository activityRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ActivityService activityService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final LocalDate day = LocalDate.of(2025, 3, 10);
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        user = User.builder().id(userId).build();
+        when(userRepository.existsById(userId)).thenReturn(true);
+    }
+
+    @Test
+    void testGetActivityMergesDaysIntoMonths() {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2026, 1, 1);
+        when(activityRepository.findRange(userId, from, to)).thenReturn(List.of(
+                row(LocalDate.of(2025, 3, 10), TransactionType.BET, 2, "30.00", "10.00", "20.00"),
+                row(LocalDate.of(2025, 3, 10), TransactionType.DEPOSIT, 1, "100.00", "100.00", "100.00"),
+                row(LocalDate.of(2025, 3, 28), TransactionType.BET, 1, "50.00", "50.00", "50.00"),
+                row(LocalDate.of(2025, 4, 2), TransactionType.BET, 1, "5.00", "5.00", "5.00")));
+
+        List<ActivityBucketDTO> buckets = activityService.getActivity(userId, from, to, ActivityGranularity.MONTH).getBuckets();
+
+        assertEquals(3, buckets.size());
+        // Ordered by period, then by type (enum order: deposits first)
+        assertEquals(TransactionType.DEPOSIT, buckets.get(0).getType());
+        ActivityBucketDTO marchBets = buckets.get(1);
+        assertEquals(LocalDate.of(2025, 3, 1), marchBets.getPeriod());
+        assertEquals(TransactionType.BET, marchBets.getType());
+        assertEquals(3, marchBets.getCount());
+        assertEquals(0, new BigDecimal("80.00").compareTo(marchBets.getAmount()));
+        assertEquals(0, new BigDecimal("10.00").compareTo(marchBets.getMinAmount()));
+        assertEquals(0, new BigDecimal("50.00").compareTo(marchBets.getMaxAmount()));
+        assertEquals(LocalDate.of(2025, 4, 1), buckets.get(2).getPeriod());
+    }
+
+    @Test
+    void testGetActivityValidatesInput() {
+        UUID unknown = UUID.randomUUID();
+
+        assertThrows(IllegalArgumentException.class, () -> activityService.getActivity(userId, day, day, null));
+        assertThrows(NotFoundException.class, () -> activityService.getActivity(unknown, null, null, null));
+    }
+
+    @Test
+    void testCreatedInsertsRowOnFirstTransactionOfDay() {
+        when(activityRepository.applyCreated(any(), any(), any(), anyLong(), any(), any(), any(), any())).thenReturn(0);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(true);
+
+        activityService.applyCreated(tx(TransactionType.BET, "25.00"));
+
+        verify(jdbcTemplate).execute(any(ConnectionCallback.class));
+        verify(activityRepository, times(1)).applyCreated(any(), any(), any(), anyLong(), any(), any(), any(), any());
+        verify(activityRepository, never()).save(any());
+    }
+
+    @Test
+    void testCreatedLosingFirstInsertRaceUpdatesWinnerRow() {
+        when(activityRepository.applyCreated(any(), any(), any(), anyLong(), any(), any(), any(), any())).thenReturn(0, 1);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(false);
+
+        activityService.applyCreated(tx(TransactionType.BET, "25.00"));
+
+        verify(activityRepository, times(2)).applyCreated(eq(userId), eq(day), eq(TransactionType.BET), eq(1L),
+                eq(new BigDecimal("25.00")), eq(new BigDecimal("25.00")), eq(new BigDecimal("25.00")), any());
+    }
+
+    @Test
+    void testCreatedAllMergesPerKey() {
+        when(activityRepository.applyCreated(any(), any(), any(), anyLong(), any(), any(), any(), any())).thenReturn(1);
+
+        activityService.applyCreatedAll(List.of(tx(TransactionType.BET, "10.00"), tx(TransactionType.BET, "30.00"), tx(TransactionType.DEPOSIT, "5.00")));
+
+        verify(activityRepository).applyCreated(eq(userId), eq(day), eq(TransactionType.BET), eq(2L),
+                eq(new BigDecimal("40.00")), eq(new BigDecimal("10.00")), eq(new BigDecimal("30.00")), any());
+        verify(activityRepository).applyCreated(eq(userId), eq(day), eq(TransactionType.DEPOSIT), eq(1L), any(), any(), any(), any());
+        verify(activityRepository, never()).save(any());
+    }
+
+    @Test
+    void testRemovedExtremeRecomputesMinAndMax() {
+        UserDailyActivity existing = row(day, TransactionType.BET, 3, "60.00", "10.00", "30.00");
+        Transaction removed = tx(TransactionType.BET, "30.00");
+        when(activityRepository.findForUpdate(userId, day, TransactionType.BET)).thenReturn(Optional.of(existing));
+        when(transactionRepository.findAmountRange(eq(userId), eq(TransactionType.BET), any(), any(), eq(removed.getId())))
+                .thenReturn(List.<Object[]>of(new Object[]{new BigDecimal("10.00"), new BigDecimal("20.00")}));
+
+        activityService.applyRemoved(removed);
+
+        verify(userRepository).lockForShare(userId);
+        assertEquals(2, existing.getTransactionCount());
+        assertEquals(0, new BigDecimal("30.00").compareTo(existing.getTotalAmount()));
+        assertEquals(0, new BigDecimal("20.00").compareTo(existing.getMaxAmount()));
+    }
+
+    @Test
+    void testRemovedLastTransactionDeletesRow() {
+        UserDailyActivity existing = row(day, TransactionType.BET, 1, "30.00", "30.00", "30.00");
+        when(activityRepository.findForUpdate(userId, day, TransactionType.BET)).thenReturn(Optional.of(existing));
+
+        activityService.applyRemoved(tx(TransactionType.BET, "30.00"));
+
+        verify(activityRepository).delete(existing);
+        verify(transactionRepository, never()).findAmountRange(any(), any(), any(), any(), any());
+    }
+
+    private Transaction tx(TransactionType type, String amount) {
+        return Transaction.builder()
+                .id(UUID.randomUUID())
+                .user(user)
+                .amount(new BigDecimal(amount))
+                .description("test")
+                .type(type)
+                .createdAt(day.atTime(12, 0))
+                .build();
+    }
+
+    private UserDailyActivity row(LocalDate date, TransactionType type, long count, String sum, String min, String max) {
+        return UserDailyActivity.builder()
+                .userId(userId)
+                .day(date)
+                .type(type)
+                .transactionCount(count)
+                .totalAmount(new BigDecimal(sum))
+                .minAmount(new BigDecimal(min))
+                .maxAmount(new BigDecimal(max))
+                .version(0L)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+}
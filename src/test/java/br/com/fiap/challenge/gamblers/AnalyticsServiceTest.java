@@ -0,0 +1,159 @@
+package br.com.fiap.challenge.gamblers;
+
+import br.com.fiap.challenge.gamblers.entities.AnalyticsDimension;
+import br.com.fiap.challenge.gamblers.entities.AnalyticsMetric;
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import br.com.fiap.challenge.gamblers.entities.dtos.AnalyticsGroupDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.AnalyticsQueryRequest;
+import br.com.fiap.challenge.gamblers.entities.dtos.AnalyticsQueryResponse;
+import br.com.fiap.challenge.gamblers.repositories.TransactionRepository;
+import br.com.fiap.challenge.gamblers.services.AnalyticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AnalyticsServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @InjectMocks
+    private AnalyticsService analyticsService;
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final LocalDateTime t0 = LocalDateTime.of(2025, 3, 10, 10, 0);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(analyticsService, "enabled", true);
+        ReflectionTestUtils.setField(analyticsService, "batchSize", 2);
+        ReflectionTestUtils.setField(analyticsService, "maxRows", 1000);
+        ReflectionTestUtils.setField(analyticsService, "refreshLag", Duration.ZERO);
+
+        List<Object[]> rows = List.of(
+                row(alice, t0, "100.00", TransactionType.DEPOSIT),
+                row(alice, t0.plusMinutes(10), "30.50", TransactionType.BET),
+                row(bob, t0.plusMinutes(20), "5.00", TransactionType.BET),
+                row(alice, t0.plusHours(1), "20.00", TransactionType.BET),
+                row(bob, t0.plusDays(1), "70.00", TransactionType.BET));
+        // Serve the rows in batches of two, like the keyset query would
+        when(transactionRepository.findColumnsAfter(any(), any(), any(), any(Limit.class)))
+                .thenReturn(rows.subList(0, 2), rows.subList(2, 4), rows.subList(4, 5), List.of());
+        analyticsService.refresh();
+    }
+
+    @Test
+    void testLoadsInBatches() {
+        verify(transactionRepository, times(3)).findColumnsAfter(any(), any(), any(), eq(Limit.of(2)));
+
+        AnalyticsQueryResponse response = analyticsService.query(new AnalyticsQueryRequest());
+
+        assertEquals(5, response.getSnapshotRows());
+        assertEquals(1, response.getGroups().size());
+        assertEquals(5, response.getGroups().get(0).getCount());
+        assertEquals(0, new BigDecimal("225.50").compareTo(response.getGroups().get(0).getAmount()));
+        assertEquals(t0.plusDays(1), response.getSnapshotUpTo());
+    }
+
+    @Test
+    void testGroupsByTypeAndHourWithinWindow() {
+        AnalyticsQueryRequest request = AnalyticsQueryRequest.builder()
+                .from(t0).to(t0.plusHours(2))
+                .groupBy(List.of(AnalyticsDimension.TYPE, AnalyticsDimension.HOUR))
+                .build();
+
+        List<AnalyticsGroupDTO> groups = analyticsService.query(request).getGroups();
+
+        assertEquals(3, groups.size());
+        assertGroup(groups.get(0), TransactionType.DEPOSIT, t0, 1, "100.00");
+        assertGroup(groups.get(1), TransactionType.BET, t0, 2, "35.50");
+        assertGroup(groups.get(2), TransactionType.BET, t0.plusHours(1), 1, "20.00");
+    }
+
+    @Test
+    void testTopBettorsByAmount() {
+        AnalyticsQueryRequest request = AnalyticsQueryRequest.builder()
+                .types(Set.of(TransactionType.BET))
+                .groupBy(List.of(AnalyticsDimension.USER))
+                .orderBy(AnalyticsMetric.AMOUNT)
+                .limit(1)
+                .build();
+
+        AnalyticsQueryResponse response = analyticsService.query(request);
+
+        assertEquals(2, response.getTotalGroups());
+        assertEquals(1, response.getGroups().size());
+        assertEquals(bob, response.getGroups().get(0).getUserId());
+        assertEquals(0, new BigDecimal("75.00").compareTo(response.getGroups().get(0).getAmount()));
+    }
+
+    @Test
+    void testFiltersByUser() {
+        AnalyticsQueryRequest known = AnalyticsQueryRequest.builder().userId(alice).build();
+        AnalyticsQueryRequest unknown = AnalyticsQueryRequest.builder().userId(UUID.randomUUID()).build();
+
+        assertEquals(3, analyticsService.query(known).getGroups().get(0).getCount());
+        assertTrue(analyticsService.query(unknown).getGroups().isEmpty());
+    }
+
+    @Test
+    void testReloadReplacesSnapshot() {
+        when(transactionRepository.findColumnsAfter(any(), any(), any(), any(Limit.class)))
+                .thenReturn(new ArrayList<>(List.<Object[]>of(row(bob, t0, "1.00", TransactionType.WITHDRAWAL))));
+
+        analyticsService.reload();
+
+        AnalyticsQueryResponse response = analyticsService.query(new AnalyticsQueryRequest());
+        assertEquals(1, response.getSnapshotRows());
+        assertEquals(0, new BigDecimal("1.00").compareTo(response.getGroups().get(0).getAmount()));
+    }
+
+    @Test
+    void testRejectsInvalidQueries() {
+        AnalyticsQueryRequest bothBuckets = AnalyticsQueryRequest.builder()
+                .groupBy(List.of(AnalyticsDimension.HOUR, AnalyticsDimension.DAY)).build();
+        AnalyticsQueryRequest emptyWindow = AnalyticsQueryRequest.builder().from(t0).to(t0).build();
+
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.query(bothBuckets));
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.query(emptyWindow));
+    }
+
+    @Test
+    void testHeapRowCap_LeavesRoomForReloadAndGrowth() {
+        long fourGigabytes = 4L << 30;
+
+        assertEquals(10_226_112, AnalyticsService.heapRowCap(fourGigabytes, 0.25));
+        assertTrue((long) AnalyticsService.heapRowCap(fourGigabytes, 0.25) * AnalyticsService.PEAK_BYTES_PER_ROW <= fourGigabytes / 4);
+        assertEquals(Integer.MAX_VALUE - 8, AnalyticsService.heapRowCap(Long.MAX_VALUE, 1.0));
+    }
+
+    private static Object[] row(UUID userId, LocalDateTime createdAt, String amount, TransactionType type) {
+        return new Object[]{UUID.randomUUID(), userId, createdAt, new BigDecimal(amount), type};
+    }
+
+    private static void assertGroup(AnalyticsGroupDTO group, TransactionType type, LocalDateTime bucket, long count, String amount) {
+        assertEquals(type, group.getType());
+        assertEquals(bucket, group.getBucket());
+        assertEquals(count, group.getCount());
+        assertEquals(0, new BigDecimal(amount).compareTo(group.getAmount()));
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.fiap.challenge.gamblers;
+
+import br.com.fiap.challenge.gamblers.entities.Transaction;
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import br.com.fiap.challenge.gamblers.entities.User;
+import br.com.fiap.challenge.gamblers.repositories.UserRepository;
+import br.com.fiap.challenge.gamblers.services.BalanceService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class BalanceConcurrencyIntegrationTest {
+
+    private static final int WRITERS = 8;
+
+    @Autowired
+    private BalanceService balanceService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testConcurrentFirstMovementsAreAllApplied() throws Exception {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        try {
+            // Several users so the writers reliably collide on creating the ledger row
+            for (int round = 0; round < 5; round++) {
+                User user = newUser();
+                CyclicBarrier start = new CyclicBarrier(WRITERS);
+                List<Future<?>> writes = new ArrayList<>();
+                for (int i = 0; i < WRITERS; i++) {
+                    writes.add(pool.submit(() -> {
+                        start.await(5, TimeUnit.SECONDS);
+                        template.executeWithoutResult(status -> balanceService.applyCreated(deposit(user)));
+                        return null;
+                    }));
+                }
+                for (Future<?> write : writes) write.get(30, TimeUnit.SECONDS);
+
+                BigDecimal expected = BigDecimal.TEN.multiply(BigDecimal.valueOf(WRITERS));
+                assertEquals(0, expected.compareTo(balanceService.getBalance(user.getId()).getTotalDeposits()));
+                assertEquals(0, expected.compareTo(balanceService.getBalance(user.getId()).getBalance()));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private User newUser() {
+        return userRepository.save(User.builder()
+                .name("Concurrent")
+                .email(UUID.randomUUID() + "@example.com")
+                .passwordHash("x")
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    private static Transaction deposit(User user) {
+        return Transaction.builder()
+                .id(UUID.randomUUID())
+                .user(user)
+                .amount(BigDecimal.TEN)
+                .description("Deposit")
+                .type(TransactionType.DEPOSIT)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
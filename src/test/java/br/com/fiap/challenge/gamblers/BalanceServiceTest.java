@@ -0,0 +1,127 @@
+package br.com.fiap.challenge.gamblers;
+
+import br.com.fiap.challenge.gamblers.entities.Transaction;
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import br.com.fiap.challenge.gamblers.entities.User;
+import br.com.fiap.challenge.gamblers.entities.dtos.BalanceDTO;
+import br.com.fiap.challenge.gamblers.exception.NotFoundException;
+import br.com.fiap.challenge.gamblers.repositories.TransactionRepository;
+import br.com.fiap.challenge.gamblers.repositories.UserBalanceRepository;
+import br.com.fiap.challenge.gamblers.repositories.UserRepository;
+import br.com.fiap.challenge.gamblers.services.BalanceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BalanceServiceTest {
+
+    @Mock
+    private UserBalanceRepository balanceRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private BalanceService balanceService;
+
+    private UUID userId;
+    private Transaction bet;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        userId = UUID.randomUUID();
+        User user = User.builder().id(userId).name("John Doe").email("john@example.com").build();
+        bet = Transaction.builder()
+                .id(UUID.randomUUID())
+                .user(user)
+                .amount(BigDecimal.valueOf(30.0))
+                .description("Bet")
+                .type(TransactionType.BET)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    void testApplyCreated_IncrementsExistingRow() {
+        when(balanceRepository.applyDelta(eq(userId), any(), any(), any(), any())).thenReturn(1);
+
+        balanceService.applyCreated(bet);
+
+        verify(balanceRepository).applyDelta(eq(userId), eq(BigDecimal.ZERO), eq(BigDecimal.ZERO), eq(BigDecimal.valueOf(30.0)), any());
+        verify(balanceRepository, never()).save(any());
+    }
+
+    @Test
+    void testApplyCreated_CreatesMissingRow() {
+        when(balanceRepository.applyDelta(eq(userId), any(), any(), any(), any())).thenReturn(0);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(true);
+
+        balanceService.applyCreated(bet);
+
+        verify(jdbcTemplate).execute(any(ConnectionCallback.class));
+        verify(balanceRepository, times(1)).applyDelta(any(), any(), any(), any(), any());
+        verify(balanceRepository, never()).save(any());
+    }
+
+    @Test
+    void testApplyCreated_LosingFirstInsertRaceUpdatesWinnerRow() {
+        when(balanceRepository.applyDelta(eq(userId), any(), any(), any(), any())).thenReturn(0, 1);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(false);
+
+        balanceService.applyCreated(bet);
+
+        verify(balanceRepository, times(2)).applyDelta(eq(userId), eq(BigDecimal.ZERO), eq(BigDecimal.ZERO), eq(BigDecimal.valueOf(30.0)), any());
+    }
+
+    @Test
+    void testApplyRemoved_ReversesAmount() {
+        when(balanceRepository.applyDelta(eq(userId), any(), any(), any(), any())).thenReturn(1);
+
+        balanceService.applyRemoved(bet);
+
+        verify(balanceRepository).applyDelta(eq(userId), eq(BigDecimal.ZERO), eq(BigDecimal.ZERO), eq(BigDecimal.valueOf(-30.0)), any());
+    }
+
+    @Test
+    void testGetBalance_UserWithoutMovements() {
+        when(balanceRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userRepository.existsById(userId)).thenReturn(true);
+
+        BalanceDTO result = balanceService.getBalance(userId);
+
+        assertEquals(BigDecimal.ZERO, result.getBalance());
+    }
+
+    @Test
+    void testGetBalance_UserNotFound() {
+        when(balanceRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userRepository.existsById(userId)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> balanceService.getBalance(userId));
+    }
+}
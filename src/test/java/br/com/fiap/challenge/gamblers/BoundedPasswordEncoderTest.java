@@ -0,0 +1,79 @@
+package br.com.fiap.challenge.gamblers;
+
+import br.com.fiap.challenge.gamblers.exception.ServiceBusyException;
+import br.com.fiap.challenge.gamblers.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    void testEncodesAndVerifiesOnPool() {
+        encoder = new BoundedPasswordEncoder(1, 4, Duration.ofSeconds(10), registry);
+
+        String hash = encoder.encode("senhaSegura123");
+
+        assertTrue(encoder.matches("senhaSegura123", hash));
+        assertFalse(encoder.matches("outraSenha", hash));
+        assertEquals(1, registry.get("password.hashing.duration").tag("operation", "encode").timer().count());
+        assertEquals(2, registry.get("password.hashing.duration").tag("operation", "matches").timer().count());
+        assertEquals(3, registry.get("password.hashing.wait").timer().count());
+    }
+
+    @Test
+    void testShedsWhenQueueIsFull() throws Exception {
+        encoder = new BoundedPasswordEncoder(1, 1, Duration.ofSeconds(30), registry);
+        int callers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return encoder.encode("senhaSegura123");
+            }));
+        }
+        start.countDown();
+
+        int busy = 0;
+        for (Future<String> result : results) {
+            try {
+                assertNotNull(result.get());
+            } catch (Exception e) {
+                assertInstanceOf(ServiceBusyException.class, e.getCause());
+                busy++;
+            }
+        }
+        pool.shutdown();
+
+        // One hash running and one queued at most; the rest are rejected immediately
+        assertTrue(busy > 0);
+        assertEquals(busy, registry.get("password.hashing.rejected").counter().count());
+    }
+
+    @Test
+    void testTimesOutWaitingCaller() {
+        encoder = new BoundedPasswordEncoder(1, 4, Duration.ofMillis(1), registry);
+
+        assertThrows(ServiceBusyException.class, () -> encoder.encode("senhaSegura123"));
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.fiap.challenge.gamblers;
+
+import br.com.fiap.challenge.gamblers.entities.ChangeEntity;
+import br.com.fiap.challenge.gamblers.entities.dtos.ChangeEventDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.ChangeFeedPage;
+import br.com.fiap.challenge.gamblers.services.ChangeFeedService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ChangeFeedSequencingIntegrationTest {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testEventCommittedLateIsNotSkipped() throws Exception {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        long cursor = drain(0);
+        UUID slow = UUID.randomUUID();
+        UUID fast = UUID.randomUUID();
+
+        // The slow transaction records its event first but commits after the fast one
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> slowWrite = CompletableFuture.runAsync(() -> template.executeWithoutResult(status -> {
+            changeFeedService.recordUpsert(ChangeEntity.USER, slow);
+            recorded.countDown();
+            await(commit);
+        }));
+        assertTrue(recorded.await(5, TimeUnit.SECONDS));
+        template.executeWithoutResult(status -> changeFeedService.recordUpsert(ChangeEntity.USER, fast));
+
+        changeFeedService.sequence();
+        ChangeFeedPage first = changeFeedService.changesSince(cursor, 100);
+        assertEquals(List.of(fast), ids(first));
+
+        commit.countDown();
+        slowWrite.get(5, TimeUnit.SECONDS);
+        changeFeedService.sequence();
+        ChangeFeedPage second = changeFeedService.changesSince(first.getNextCursor(), 100);
+        assertEquals(List.of(slow), ids(second));
+        assertTrue(second.getItems().get(0).getSeq() > first.getNextCursor());
+    }
+
+    private long drain(long cursor) {
+        changeFeedService.sequence();
+        ChangeFeedPage page;
+        do {
+            page = changeFeedService.changesSince(cursor, 5000);
+            cursor = page.getNextCursor();
+        } while (page.isHasMore());
+        return cursor;
+    }
+
+    private static List<UUID> ids(ChangeFeedPage page) {
+        return page.getItems().stream().map(ChangeEventDTO::getId).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.fiap.challenge.gamblers;
+
+import br.com.fiap.challenge.gamblers.entities.ChangeEntity;
+import br.com.fiap.challenge.gamblers.entities.ChangeEvent;
+import br.com.fiap.challenge.gamblers.entities.ChangeOperation;
+import br.com.fiap.challenge.gamblers.entities.dtos.ChangeFeedPage;
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.UserDTO;
+import br.com.fiap.challenge.gamblers.repositories.ChangeEventRepository;
+import br.com.fiap.challenge.gamblers.repositories.TransactionRepository;
+import br.com.fiap.challenge.gamblers.repositories.UserRepository;
+import br.com.fiap.challenge.gamblers.services.ChangeFeedService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ChangeFeedServiceTest {
+
+    @Mock
+    private ChangeEventRepository changeEventRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ChangeFeedService changeFeedService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final LocalDateTime changedAt = LocalDateTime.now().minusMinutes(1);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(changeFeedService, "retention", Duration.ofDays(7));
+    }
+
+    @Test
+    void testChangesCarryCurrentStateAndTombstones() {
+        UUID txId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        UUID deletedId = UUID.randomUUID();
+        when(changeEventRepository.findBySeqGreaterThanOrderBySeq(eq(10L), eq(Limit.of(101)))).thenReturn(List.of(
+                event(11, ChangeEntity.USER, userId, ChangeOperation.UPSERT, changedAt),
+                event(12, ChangeEntity.TRANSACTION, txId, ChangeOperation.UPSERT, changedAt),
+                event(14, ChangeEntity.TRANSACTION, deletedId, ChangeOperation.DELETE, changedAt)));
+        when(transactionRepository.findDTOsByIds(argThat(ids -> ids.size() == 1 && ids.contains(txId))))
+                .thenReturn(List.of(TransactionDTO.builder().id(txId).build()));
+        when(userRepository.findDTOsByIds(argThat(ids -> ids.size() == 1 && ids.contains(userId))))
+                .thenReturn(List.of(UserDTO.builder().id(userId).build()));
+
+        ChangeFeedPage page = changeFeedService.changesSince(10, 100);
+
+        assertEquals(3, page.getItems().size());
+        assertEquals(userId, page.getItems().get(0).getUser().getId());
+        assertEquals(txId, page.getItems().get(1).getTransaction().getId());
+        assertEquals(ChangeOperation.DELETE, page.getItems().get(2).getOperation());
+        assertNull(page.getItems().get(2).getTransaction());
+        assertEquals(14, page.getNextCursor());
+        assertFalse(page.isHasMore());
+    }
+
+    @Test
+    void testFullPageReportsMoreAndEmptyPageKeepsCursor() {
+        when(changeEventRepository.findBySeqGreaterThanOrderBySeq(eq(0L), any())).thenReturn(List.of(
+                event(1, ChangeEntity.USER, UUID.randomUUID(), ChangeOperation.DELETE, changedAt),
+                event(2, ChangeEntity.USER, UUID.randomUUID(), ChangeOperation.DELETE, changedAt)));
+        when(changeEventRepository.findBySeqGreaterThanOrderBySeq(eq(2L), any())).thenReturn(List.of());
+
+        ChangeFeedPage first = changeFeedService.changesSince(0, 1);
+        ChangeFeedPage caughtUp = changeFeedService.changesSince(2, 1);
+
+        assertTrue(first.isHasMore());
+        assertEquals(1, first.getNextCursor());
+        assertTrue(caughtUp.getItems().isEmpty());
+        assertEquals(2, caughtUp.getNextCursor());
+    }
+
+    @Test
+    void testNegativeCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> changeFeedService.changesSince(-1, null));
+    }
+
+    @Test
+    void testUpsertsAreWrittenInOneBatch() {
+        changeFeedService.recordUpserts(ChangeEntity.TRANSACTION, List.of(UUID.randomUUID(), UUID.randomUUID()));
+        changeFeedService.recordUpserts(ChangeEntity.TRANSACTION, List.of());
+
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), argThat((List<Object[]> rows) ->
+                rows.size() == 2 && rows.get(0)[0].equals("TRANSACTION") && rows.get(0)[2].equals("UPSERT")));
+    }
+
+    private static ChangeEvent event(long seq, ChangeEntity entity, UUID id, ChangeOperation operation, LocalDateTime at) {
+        return ChangeEvent.builder().seq(seq).entityType(entity).entityId(id).operation(operation).changedAt(at).build();
+    }
+}
@@ -0,0 +1,174 @@
+package br.com.fiap.challenge.gamblers;
+
+import br.com.fiap.challenge.gamblers.entities.IdempotencyKey;
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import br.com.fiap.challenge.gamblers.entities.dtos.CreateTransactionDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionDTO;
+import br.com.fiap.challenge.gamblers.interfaces.ITransactionService;
+import br.com.fiap.challenge.gamblers.repositories.IdempotencyKeyRepository;
+import br.com.fiap.challenge.gamblers.services.IdempotencyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyKeyRepository keyRepository;
+
+    @Mock
+    private ITransactionService transactionService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IdempotencyService idempotencyService;
+    private final UUID userId = UUID.randomUUID();
+    private final UUID transactionId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(keyRepository.findById(any())).thenReturn(Optional.empty());
+        when(transactionService.create(any())).thenReturn(TransactionDTO.builder().id(transactionId).amount(new BigDecimal("10.00")).build());
+        idempotencyService = new IdempotencyService(keyRepository, transactionService, transactionManager);
+        ReflectionTestUtils.setField(idempotencyService, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(idempotencyService, "cacheTtl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(idempotencyService, "retention", Duration.ofHours(1));
+        idempotencyService.init();
+    }
+
+    @Test
+    void testRepeatedKeyIsServedFromCache() {
+        TransactionDTO first = idempotencyService.createTransaction("key-1", dto("10.00"));
+        // Same amount written differently is the same request
+        TransactionDTO second = idempotencyService.createTransaction("key-1", dto("10.0"));
+
+        assertEquals(transactionId, first.getId());
+        assertSame(first, second);
+        verify(transactionService, times(1)).create(any());
+        verify(keyRepository, times(1)).findById(key("key-1"));
+        verify(keyRepository).saveAndFlush(argThat(k -> k.getIdempotencyKey().equals("key-1") && k.getTransactionId().equals(transactionId)));
+    }
+
+    @Test
+    void testKeyReusedForDifferentRequestIsRejected() {
+        idempotencyService.createTransaction("key-1", dto("10.00"));
+
+        assertThrows(IllegalArgumentException.class, () -> idempotencyService.createTransaction("key-1", dto("99.00")));
+        verify(transactionService, times(1)).create(any());
+    }
+
+    @Test
+    void testSameKeyFromDifferentPrincipalsDoesNotCollide() {
+        try {
+            SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("alice@example.com", null));
+            idempotencyService.createTransaction("key-1", dto("10.00"));
+            SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("bob@example.com", null));
+            idempotencyService.createTransaction("key-1", dto("99.00"));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        verify(transactionService, times(2)).create(any());
+        verify(keyRepository).findById(new IdempotencyKey.Key("alice@example.com", "key-1"));
+        verify(keyRepository).findById(new IdempotencyKey.Key("bob@example.com", "key-1"));
+    }
+
+    @Test
+    void testInvalidKeyIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> idempotencyService.createTransaction(" ", dto("10.00")));
+        assertThrows(IllegalArgumentException.class, () -> idempotencyService.createTransaction("k".repeat(256), dto("10.00")));
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void testConcurrentDuplicatesCreateOnce() throws Exception {
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(transactionService.create(any())).thenAnswer(inv -> {
+            creating.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return TransactionDTO.builder().id(transactionId).build();
+        });
+
+        CompletableFuture<TransactionDTO> first = CompletableFuture.supplyAsync(() -> idempotencyService.createTransaction("key-1", dto("10.00")));
+        assertTrue(creating.await(5, TimeUnit.SECONDS));
+        CompletableFuture<TransactionDTO> duplicate = CompletableFuture.supplyAsync(() -> idempotencyService.createTransaction("key-1", dto("10.00")));
+        Thread.sleep(50);
+        assertFalse(duplicate.isDone());
+        release.countDown();
+
+        assertEquals(transactionId, first.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(transactionId, duplicate.get(5, TimeUnit.SECONDS).getId());
+        verify(transactionService, times(1)).create(any());
+    }
+
+    @Test
+    void testStoredKeyReturnsOriginalTransaction() {
+        IdempotencyKey stored = storedKey();
+        when(keyRepository.findById(key("key-1"))).thenReturn(Optional.of(stored));
+        when(transactionService.findById(transactionId)).thenReturn(TransactionDTO.builder().id(transactionId).build());
+
+        assertEquals(transactionId, idempotencyService.createTransaction("key-1", dto("10.00")).getId());
+        verify(transactionService, never()).create(any());
+        verify(keyRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testLosingUniqueKeyRaceReturnsWinner() {
+        IdempotencyKey winner = storedKey();
+        when(keyRepository.findById(key("key-1"))).thenReturn(Optional.empty(), Optional.of(winner));
+        when(keyRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(transactionService.findById(transactionId)).thenReturn(TransactionDTO.builder().id(transactionId).build());
+
+        assertEquals(transactionId, idempotencyService.createTransaction("key-1", dto("10.00")).getId());
+        // Our own insert rolled back with the key
+        verify(transactionManager).rollback(any());
+    }
+
+    private IdempotencyKey storedKey() {
+        // The hash does not cover the key: record it from an identical request sent under another key
+        idempotencyService.createTransaction("seed", dto("10.00"));
+        ArgumentCaptor<IdempotencyKey> saved = ArgumentCaptor.forClass(IdempotencyKey.class);
+        verify(keyRepository).saveAndFlush(saved.capture());
+        clearInvocations(keyRepository, transactionService, transactionManager);
+        return IdempotencyKey.builder()
+                .principal("")
+                .idempotencyKey("key-1")
+                .requestHash(saved.getValue().getRequestHash())
+                .transactionId(transactionId)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static IdempotencyKey.Key key(String idempotencyKey) {
+        return new IdempotencyKey.Key("", idempotencyKey);
+    }
+
+    private CreateTransactionDTO dto(String amount) {
+        return new CreateTransactionDTO(userId, new BigDecimal(amount), "Aposta", TransactionType.BET);
+    }
+}
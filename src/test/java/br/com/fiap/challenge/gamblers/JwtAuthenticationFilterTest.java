@@ -0,0 +1,103 @@
+package br.com.fiap.challenge.gamblers;
+
+import br.com.fiap.challenge.gamblers.security.JwtAuthenticationFilter;
+import br.com.fiap.challenge.gamblers.security.JwtUtil;
+import br.com.fiap.challenge.gamblers.security.PrincipalCache;
+import br.com.fiap.challenge.gamblers.security.TokenRevocationStore;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private TokenRevocationStore revocationStore;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
+    private final Claims claims = Jwts.claims().setSubject("john@example.com").setId("jti-1");
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "principalCache", principalCache);
+        ReflectionTestUtils.setField(filter, "revocationStore", revocationStore);
+        ReflectionTestUtils.setField(filter, "meterRegistry", meterRegistry);
+        filter.init();
+        when(jwtUtil.verify("good")).thenReturn(Optional.of(claims));
+        when(jwtUtil.verify("bad")).thenReturn(Optional.empty());
+        when(principalCache.get(eq("john@example.com"), any()))
+                .thenReturn(User.withUsername("john@example.com").password("").roles("USER").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testValidTokenAuthenticates() throws Exception {
+        filter.doFilter(request("good"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals("john@example.com", SecurityContextHolder.getContext().getAuthentication().getName());
+        assertEquals(1, meterRegistry.get("jwt.verify").tag("outcome", "valid").timer().count());
+    }
+
+    @Test
+    void testRevokedTokenStaysAnonymous() throws Exception {
+        when(revocationStore.isRevoked("jti-1")).thenReturn(true);
+
+        filter.doFilter(request("good"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(1, meterRegistry.get("jwt.verify").tag("outcome", "revoked").timer().count());
+        verify(principalCache, never()).get(anyString(), any());
+    }
+
+    @Test
+    void testInvalidTokenOrDeletedUserStaysAnonymous() throws Exception {
+        filter.doFilter(request("bad"), new MockHttpServletResponse(), new MockFilterChain());
+        when(principalCache.get(eq("john@example.com"), any())).thenThrow(new UsernameNotFoundException("User not found"));
+        filter.doFilter(request("good"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(1, meterRegistry.get("jwt.verify").tag("outcome", "invalid").timer().count());
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
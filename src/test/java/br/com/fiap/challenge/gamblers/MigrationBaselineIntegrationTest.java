@@ -0,0 +1,68 @@
+package br.com.fiap.challenge.gamblers;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Flyway migrations against a database created by Hibernate (ddl-auto=update) before Flyway was
+ * introduced: such databases are baselined at V1, so every later migration must work without V1's script.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class MigrationBaselineIntegrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    // What Hibernate generated for the User and Transaction entities of the pre-Flyway baseline
+    private static final String HIBERNATE_BASELINE_SCHEMA = """
+            create table users (
+                admin boolean not null, consent_given boolean not null, consent_at timestamp(6), created_at timestamp(6) not null,
+                id uuid not null, email varchar(255) not null unique, name varchar(255) not null, password_hash varchar(255) not null,
+                primary key (id));
+            create table transactions (
+                amount numeric(38,2) not null, created_at timestamp(6) not null, id uuid not null, user_id uuid not null,
+                description varchar(255) not null,
+                type varchar(255) not null check (type in ('DEPOSIT','WITHDRAWAL','BET','TRANSACTION')),
+                primary key (id));
+            alter table if exists transactions add constraint FKqwv7rmvc8va8rep7piikrojds foreign key (user_id) references users;
+            """;
+
+    @Test
+    void testMigratesHibernateBaselineSchema() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute(HIBERNATE_BASELINE_SCHEMA);
+        jdbc.update("insert into users (id, name, email, password_hash, admin, created_at, consent_given) " +
+                "values ('00000000-0000-0000-0000-000000000001', 'Ana', 'ana@example.com', 'x', false, now(), true)");
+        jdbc.update("insert into transactions (id, user_id, amount, description, type, created_at) values " +
+                "(gen_random_uuid(), '00000000-0000-0000-0000-000000000001', 100.00, 'Depósito', 'DEPOSIT', now() - interval '40 days'), " +
+                "(gen_random_uuid(), '00000000-0000-0000-0000-000000000001', 30.00, 'Aposta', 'BET', now())");
+
+        // Same settings as application.properties
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        Map<String, Object> balance = jdbc.queryForMap("select balance, total_deposits, total_bets from user_balances");
+        assertEquals(0, new BigDecimal("70").compareTo((BigDecimal) balance.get("balance")));
+        assertEquals(0, new BigDecimal("100").compareTo((BigDecimal) balance.get("total_deposits")));
+        assertEquals(0, new BigDecimal("30").compareTo((BigDecimal) balance.get("total_bets")));
+        assertEquals(2, jdbc.queryForObject("select count(*) from transactions", Integer.class));
+        assertEquals(1, jdbc.queryForObject("select count(*) from pg_indexes where indexname = 'idx_users_created_at_id'", Integer.class));
+        assertEquals("p", jdbc.queryForObject("select relkind from pg_class where relname = 'transactions'", String.class));
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.fiap.challenge.gamblers;
+
+import br.com.fiap.challenge.gamblers.entities.ChangeEntity;
+import br.com.fiap.challenge.gamblers.entities.OutboxEvent;
+import br.com.fiap.challenge.gamblers.entities.OutboxEventType;
+import br.com.fiap.challenge.gamblers.events.OutboxSink;
+import br.com.fiap.challenge.gamblers.repositories.OutboxEventRepository;
+import br.com.fiap.challenge.gamblers.services.OutboxDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxDispatcherTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxSink sink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(sink.name()).thenReturn("stub");
+        dispatcher = new OutboxDispatcher(outboxEventRepository, sink, transactionManager, registry);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 2);
+        ReflectionTestUtils.setField(dispatcher, "lease", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(dispatcher, "retryInitial", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(dispatcher, "retryMax", Duration.ofMinutes(5));
+        dispatcher.init();
+    }
+
+    @Test
+    void testDeliveredBatchIsDeleted() throws Exception {
+        OutboxEvent event = event(0);
+        when(outboxEventRepository.findDueForUpdate(any(), any())).thenReturn(List.of(event));
+
+        dispatcher.dispatch();
+
+        verify(sink).deliver(argThat(batch -> batch.size() == 1 && batch.get(0).id().equals(event.getId())
+                && batch.get(0).payload().equals("{\"id\":1}")));
+        verify(outboxEventRepository).deleteByIds(List.of(event.getId()));
+        // Claimed under a lease, so other dispatchers leave it alone while it is being delivered
+        assertTrue(event.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(30)));
+        assertEquals(1, registry.get("outbox.dispatched").counter().count());
+        assertEquals(1, registry.get("outbox.dispatch.lag").timer().count());
+    }
+
+    @Test
+    void testBacklogIsDrainedInOneRound() throws Exception {
+        when(outboxEventRepository.findDueForUpdate(any(), any()))
+                .thenReturn(List.of(event(0), event(0)), List.of(event(0), event(0)), List.of(event(0)), List.of());
+
+        dispatcher.dispatch();
+
+        verify(sink, times(3)).deliver(anyList());
+        assertEquals(5, registry.get("outbox.dispatched").counter().count());
+    }
+
+    @Test
+    void testFailedDeliveryIsRetriedWithBackoff() throws Exception {
+        OutboxEvent event = event(2);
+        when(outboxEventRepository.findDueForUpdate(any(), any())).thenReturn(List.of(event, event(0)));
+        doThrow(new IOException("Outbox endpoint answered 503")).when(sink).deliver(anyList());
+
+        dispatcher.dispatch();
+
+        // Third attempt failed: 1s doubled twice
+        LocalDateTime expected = LocalDateTime.now().plusSeconds(4);
+        verify(outboxEventRepository).markFailed(anyList(),
+                argThat(next -> Duration.between(next, expected).abs().toMillis() < 1000), eq("Outbox endpoint answered 503"));
+        verify(outboxEventRepository, never()).deleteByIds(any());
+        verify(outboxEventRepository, times(1)).findDueForUpdate(any(), any());
+        assertEquals(2, registry.get("outbox.failed").counter().count());
+    }
+
+    @Test
+    void testBackoffIsCapped() throws Exception {
+        when(outboxEventRepository.findDueForUpdate(any(), any())).thenReturn(List.of(event(40)));
+        doThrow(new IOException("down")).when(sink).deliver(anyList());
+
+        dispatcher.dispatch();
+
+        LocalDateTime expected = LocalDateTime.now().plusMinutes(5);
+        verify(outboxEventRepository).markFailed(anyList(), argThat(next -> Duration.between(next, expected).abs().toMillis() < 1000), eq("down"));
+    }
+
+    private static OutboxEvent event(int attempts) {
+        LocalDateTime now = LocalDateTime.now();
+        return OutboxEvent.builder()
+                .id(UUID.randomUUID())
+                .aggregateType(ChangeEntity.TRANSACTION)
+                .aggregateId(UUID.randomUUID())
+                .eventType(OutboxEventType.TRANSACTION_CREATED)
+                .payload("{\"id\":1}")
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .attempts(attempts)
+                .build();
+    }
+}
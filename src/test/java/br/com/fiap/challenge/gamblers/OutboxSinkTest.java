@@ -0,0 +1,88 @@
+package br.com.fiap.challenge.gamblers;
+
+import br.com.fiap.challenge.gamblers.entities.ChangeEntity;
+import br.com.fiap.challenge.gamblers.entities.OutboxEventType;
+import br.com.fiap.challenge.gamblers.events.FileOutboxSink;
+import br.com.fiap.challenge.gamblers.events.HttpOutboxSink;
+import br.com.fiap.challenge.gamblers.events.OutboxMessage;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboxSinkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private HttpServer server;
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) server.stop(0);
+    }
+
+    @Test
+    void testFileSinkAppendsOneLinePerEvent() throws Exception {
+        Path file = tempDir.resolve("outbox/events.ndjson");
+        FileOutboxSink sink = new FileOutboxSink(objectMapper);
+        ReflectionTestUtils.setField(sink, "path", file);
+
+        sink.deliver(List.of(message("{\"amount\":10}"), message("{\"amount\":20}")));
+        sink.deliver(List.of(message("{\"amount\":30}")));
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        // The stored JSON is embedded as an object, not as a string
+        assertEquals(10, first.get("payload").get("amount").asInt());
+        assertEquals("TRANSACTION_CREATED", first.get("type").asText());
+    }
+
+    @Test
+    void testHttpSinkPostsBatchToStub() throws Exception {
+        AtomicReference<String> received = new AtomicReference<>();
+        AtomicInteger status = new AtomicInteger(204);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/events", exchange -> {
+            received.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(status.get(), -1);
+            exchange.close();
+        });
+        server.start();
+        HttpOutboxSink sink = new HttpOutboxSink(objectMapper);
+        ReflectionTestUtils.setField(sink, "url", URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/events"));
+        ReflectionTestUtils.setField(sink, "timeout", Duration.ofSeconds(5));
+        sink.init();
+
+        sink.deliver(List.of(message("{\"amount\":10}"), message("{\"amount\":20}")));
+        assertEquals(2, received.get().lines().count());
+
+        status.set(503);
+        assertThrows(IOException.class, () -> sink.deliver(List.of(message("{}"))));
+    }
+
+    private static OutboxMessage message(String payload) {
+        return new OutboxMessage(UUID.randomUUID(), OutboxEventType.TRANSACTION_CREATED, ChangeEntity.TRANSACTION,
+                UUID.randomUUID(), LocalDateTime.now(), payload);
+    }
+}
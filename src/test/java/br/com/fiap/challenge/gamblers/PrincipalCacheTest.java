@@ -0,0 +1,87 @@
+package br.com.fiap.challenge.gamblers;
+
+import br.com.fiap.challenge.gamblers.security.PrincipalCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrincipalCacheTest {
+
+    private static final String EMAIL = "john@example.com";
+
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache();
+        ReflectionTestUtils.setField(principalCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(principalCache, "ttl", Duration.ofMinutes(5));
+        principalCache.init();
+    }
+
+    @Test
+    void testLoadsOnceAndErasesCredentials() {
+        AtomicInteger loads = new AtomicInteger();
+
+        UserDetails first = principalCache.get(EMAIL, u -> { loads.incrementAndGet(); return user("ADMIN"); });
+        UserDetails second = principalCache.get(EMAIL, u -> { loads.incrementAndGet(); return user("USER"); });
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertNull(first.getPassword());
+    }
+
+    @Test
+    void testInvalidateDuringLoadDiscardsTheStaleResult() throws Exception {
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Request A reads the admin row, then the demotion commits and invalidates before A caches it
+        CompletableFuture<UserDetails> staleLoad = CompletableFuture.supplyAsync(() -> principalCache.get(EMAIL, u -> {
+            UserDetails admin = user("ADMIN");
+            loaded.countDown();
+            await(release);
+            return admin;
+        }));
+        assertTrue(loaded.await(5, TimeUnit.SECONDS));
+        principalCache.invalidate(EMAIL);
+        release.countDown();
+        assertTrue(staleLoad.get(5, TimeUnit.SECONDS).getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN")));
+
+        UserDetails next = principalCache.get(EMAIL, u -> user("USER"));
+
+        assertTrue(next.getAuthorities().stream().noneMatch(a -> a.getAuthority().equals("ROLE_ADMIN")));
+    }
+
+    @Test
+    void testFailedLoadIsNotCached() {
+        assertThrows(UsernameNotFoundException.class, () -> principalCache.get(EMAIL, u -> {
+            throw new UsernameNotFoundException("User not found");
+        }));
+
+        assertNotNull(principalCache.get(EMAIL, u -> user("USER")));
+    }
+
+    private static UserDetails user(String role) {
+        return User.withUsername(EMAIL).password("hash").roles(role).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.fiap.challenge.gamblers;
+
+import br.com.fiap.challenge.gamblers.config.ReadWriteRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        // Two H2 databases standing in for the primary and the replica; each knows its own name
+        DataSource primary = database("routing_primary");
+        DataSource replica = database("routing_replica");
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica, Duration.ofMinutes(1), 100);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testReadOnlyTransactionsGoToReplica() {
+        assertEquals("routing_replica", readOnly.execute(s -> whereAmI()));
+        assertEquals("routing_primary", readWrite.execute(s -> whereAmI()));
+        assertEquals("routing_primary", whereAmI());
+    }
+
+    @Test
+    void testReadYourWritesKeepsWriterOnPrimary() {
+        authenticate("alice@x.com");
+        readWrite.executeWithoutResult(s -> whereAmI());
+
+        assertEquals("routing_primary", readOnly.execute(s -> whereAmI()));
+
+        authenticate("bob@x.com");
+        assertEquals("routing_replica", readOnly.execute(s -> whereAmI()));
+    }
+
+    @Test
+    void testRolledBackWriteDoesNotPinToPrimary() {
+        authenticate("alice@x.com");
+        readWrite.executeWithoutResult(s -> {
+            whereAmI();
+            s.setRollbackOnly();
+        });
+
+        assertEquals("routing_replica", readOnly.execute(s -> whereAmI()));
+    }
+
+    private String whereAmI() {
+        return jdbc.queryForObject("select name from whoami", String.class);
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table if not exists whoami (name varchar(32))");
+        jdbc.execute("delete from whoami");
+        jdbc.update("insert into whoami values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,153 @@
+package br.com.fiap.challenge.gamblers;
+
+import br.com.fiap.challenge.gamblers.entities.RefreshToken;
+import br.com.fiap.challenge.gamblers.entities.dtos.LoginResponse;
+import br.com.fiap.challenge.gamblers.repositories.RefreshTokenRepository;
+import br.com.fiap.challenge.gamblers.repositories.UserRepository;
+import br.com.fiap.challenge.gamblers.security.JwtUtil;
+import br.com.fiap.challenge.gamblers.security.TokenRevocationStore;
+import br.com.fiap.challenge.gamblers.services.RefreshTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private TokenRevocationStore revocationStore;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID familyId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(refreshTokenService, "refreshExpiration", Duration.ofDays(30));
+        when(userRepository.findIdByEmail("john@example.com")).thenReturn(Optional.of(userId));
+        when(userRepository.findEmailById(userId)).thenReturn(Optional.of("john@example.com"));
+        when(jwtUtil.generateToken(eq("john@example.com"), anyString())).thenReturn("access");
+        when(jwtUtil.getExpirationMs()).thenReturn(3_600_000L);
+    }
+
+    @Test
+    void testIssueStoresOnlyTheHash() {
+        LoginResponse response = refreshTokenService.issue("john@example.com");
+        String token = response.getRefreshToken();
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        verify(jwtUtil).generateToken("john@example.com", saved.getValue().getAccessJti());
+        assertEquals("access", response.getToken());
+        assertEquals(43, token.length());
+        assertEquals(userId, saved.getValue().getUserId());
+        assertEquals(64, saved.getValue().getTokenHash().length());
+        assertFalse(saved.getValue().getTokenHash().contains(token));
+        assertTrue(saved.getValue().getExpiresAt().isAfter(LocalDateTime.now().plusDays(29)));
+    }
+
+    @Test
+    void testRefreshRotatesWithinFamily() {
+        RefreshToken current = token(null, LocalDateTime.now().plusDays(1));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.revokeIfActive(eq(current.getId()), any())).thenReturn(1);
+
+        LoginResponse response = refreshTokenService.refresh("presented");
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals("access", response.getToken());
+        assertNotEquals("presented", response.getRefreshToken());
+        assertEquals(familyId, saved.getValue().getFamilyId());
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+    }
+
+    @Test
+    void testReusedTokenRevokesFamily() {
+        RefreshToken rotated = token(LocalDateTime.now().minusMinutes(1), LocalDateTime.now().plusDays(1));
+        RefreshToken successor = token(null, LocalDateTime.now().plusDays(1));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(rotated));
+        when(refreshTokenRepository.findByFamilyIdAndCreatedAtAfter(eq(familyId), any())).thenReturn(List.of(successor));
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.refresh("stolen"));
+
+        verify(refreshTokenRepository).revokeFamily(eq(familyId), any());
+        verify(revocationStore).revoke(successor.getAccessJti(), successor.getCreatedAt().plusHours(1).plusMinutes(1));
+        verify(refreshTokenRepository, never()).save(any());
+        verify(jwtUtil, never()).generateToken(anyString(), anyString());
+    }
+
+    @Test
+    void testRevokeAllRevokesLiveAccessTokens() {
+        RefreshToken recent = token(null, LocalDateTime.now().plusDays(1));
+        when(refreshTokenRepository.findByUserIdAndCreatedAtAfter(eq(userId), any())).thenReturn(List.of(recent));
+
+        refreshTokenService.revokeAll(userId);
+
+        verify(refreshTokenRepository).revokeUser(eq(userId), any());
+        verify(revocationStore).revoke(eq(recent.getAccessJti()), any());
+    }
+
+    @Test
+    void testConcurrentRefreshLosesRace() {
+        RefreshToken current = token(null, LocalDateTime.now().plusDays(1));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.revokeIfActive(eq(current.getId()), any())).thenReturn(0);
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.refresh("presented"));
+
+        verify(refreshTokenRepository).revokeFamily(eq(familyId), any());
+    }
+
+    @Test
+    void testExpiredOrUnknownTokenIsRejected() {
+        RefreshToken expired = token(null, LocalDateTime.now().minusSeconds(1));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(expired), Optional.empty());
+        when(refreshTokenRepository.revokeIfActive(eq(expired.getId()), any())).thenReturn(1);
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.refresh("expired"));
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.refresh("unknown"));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    private RefreshToken token(LocalDateTime revokedAt, LocalDateTime expiresAt) {
+        return RefreshToken.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .tokenHash("hash")
+                .familyId(familyId)
+                .createdAt(LocalDateTime.now().minusDays(1))
+                .expiresAt(expiresAt)
+                .revokedAt(revokedAt)
+                .accessJti(UUID.randomUUID().toString())
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.fiap.challenge.gamblers;
+
+import br.com.fiap.challenge.gamblers.entities.RiskReason;
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import br.com.fiap.challenge.gamblers.entities.dtos.RiskFlagDTO;
+import br.com.fiap.challenge.gamblers.services.RiskDetectionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RiskDetectionServiceTest {
+
+    private RiskDetectionService riskService;
+    private UUID userId;
+    private LocalDateTime noon;
+
+    @BeforeEach
+    void setUp() {
+        riskService = new RiskDetectionService();
+        ReflectionTestUtils.setField(riskService, "window", Duration.ofHours(24));
+        ReflectionTestUtils.setField(riskService, "maxTrackedUsers", 10);
+        ReflectionTestUtils.setField(riskService, "betCountThreshold", 5);
+        ReflectionTestUtils.setField(riskService, "betVolumeThreshold", BigDecimal.valueOf(1000));
+        ReflectionTestUtils.setField(riskService, "depositCountThreshold", 10);
+        ReflectionTestUtils.setField(riskService, "lossChasingWindow", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(riskService, "lossChasingThreshold", 2);
+        ReflectionTestUtils.setField(riskService, "nightStartHour", 0);
+        ReflectionTestUtils.setField(riskService, "nightEndHour", 6);
+        ReflectionTestUtils.setField(riskService, "nightEventsThreshold", 3);
+        riskService.init();
+        userId = UUID.randomUUID();
+        noon = LocalDateTime.now().withHour(12).withMinute(0);
+    }
+
+    @Test
+    void testFlagsHighBetFrequency() {
+        for (int i = 0; i < 4; i++) riskService.record(userId, TransactionType.BET, BigDecimal.ONE, noon.plusMinutes(i));
+        assertTrue(riskService.findFlags(10).isEmpty());
+
+        riskService.record(userId, TransactionType.BET, BigDecimal.ONE, noon.plusMinutes(5));
+
+        List<RiskFlagDTO> flags = riskService.findFlags(10);
+        assertEquals(1, flags.size());
+        assertEquals(userId, flags.get(0).getUserId());
+        assertTrue(flags.get(0).getReasons().contains(RiskReason.HIGH_BET_FREQUENCY));
+        assertEquals(0, BigDecimal.valueOf(5).compareTo(flags.get(0).getBetVolume()));
+    }
+
+    @Test
+    void testFlagsLossChasing() {
+        riskService.record(userId, TransactionType.BET, BigDecimal.TEN, noon);
+        riskService.record(userId, TransactionType.DEPOSIT, BigDecimal.TEN, noon.plusMinutes(10));
+        riskService.record(userId, TransactionType.BET, BigDecimal.TEN, noon.plusMinutes(11));
+        riskService.record(userId, TransactionType.DEPOSIT, BigDecimal.TEN, noon.plusMinutes(20));
+
+        RiskFlagDTO flag = riskService.findFlags(10).get(0);
+        assertEquals(2, flag.getLossChasingEvents());
+        assertTrue(flag.getReasons().contains(RiskReason.LOSS_CHASING));
+    }
+
+    @Test
+    void testFlagsNightActivity() {
+        LocalDateTime night = noon.withHour(2);
+        for (int i = 0; i < 3; i++) riskService.record(userId, TransactionType.DEPOSIT, BigDecimal.ONE, night.plusMinutes(i));
+
+        assertTrue(riskService.findFlags(10).get(0).getReasons().contains(RiskReason.NIGHT_ACTIVITY));
+    }
+
+    @Test
+    void testOldActivityLeavesTheWindow() {
+        for (int i = 0; i < 5; i++) riskService.record(userId, TransactionType.BET, BigDecimal.ONE, noon.plusMinutes(i));
+        assertFalse(riskService.findFlags(10).isEmpty());
+
+        riskService.record(userId, TransactionType.DEPOSIT, BigDecimal.ONE, noon.plusHours(30));
+
+        assertTrue(riskService.findFlags(10).isEmpty());
+    }
+
+    @Test
+    void testTrackedUsersAreCapped() {
+        for (int i = 0; i < 20; i++) {
+            UUID other = UUID.randomUUID();
+            for (int j = 0; j < 5; j++) riskService.record(other, TransactionType.BET, BigDecimal.ONE, noon.plusMinutes(j));
+        }
+
+        assertEquals(10, riskService.findFlags(100).size());
+    }
+}
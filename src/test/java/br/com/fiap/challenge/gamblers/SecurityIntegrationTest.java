@@ -25,7 +25,15 @@ public class SecurityIntegrationTest {
     void healthEndpointAccessible() {
         ResponseEntity<String> res = rest.getForEntity("http://localhost:" + port + "/actuator/health", String.class);
         assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
-    }    @Test
+    }
+
+    @Test
+    void prometheusEndpointRequiresAuthentication() {
+        ResponseEntity<String> res = rest.getForEntity("http://localhost:" + port + "/actuator/prometheus", String.class);
+        assertThat(res.getStatusCode().value()).isIn(401, 403);
+    }
+
+    @Test
     void loginRequiresValidCredentials() {
         // try to login with invalid credentials and expect 401 or 400
         HttpHeaders headers = new HttpHeaders();
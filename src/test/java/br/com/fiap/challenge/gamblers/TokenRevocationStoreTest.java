@@ -0,0 +1,127 @@
+package br.com.fiap.challenge.gamblers;
+
+import br.com.fiap.challenge.gamblers.entities.RevokedToken;
+import br.com.fiap.challenge.gamblers.repositories.RevokedTokenRepository;
+import br.com.fiap.challenge.gamblers.security.TokenRevocationStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationStoreTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @InjectMocks
+    private TokenRevocationStore revocationStore;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(revocationStore, "expectedTokens", 16);
+        ReflectionTestUtils.setField(revocationStore, "refreshOverlap", Duration.ofMinutes(1));
+        when(revokedTokenRepository.findActiveRevokedSince(any(), any())).thenReturn(List.of());
+        revocationStore.init();
+    }
+
+    @Test
+    void testRevokePersistsAndIsVisibleImmediately() {
+        String jti = UUID.randomUUID().toString();
+
+        revocationStore.revoke(jti, LocalDateTime.now().plusHours(1));
+
+        assertTrue(revocationStore.isRevoked(jti));
+        assertFalse(revocationStore.isRevoked(UUID.randomUUID().toString()));
+        assertFalse(revocationStore.isRevoked(null));
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void testRevokeInTransactionIsVisibleOnlyAfterCommit() {
+        String jti = UUID.randomUUID().toString();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            revocationStore.revoke(jti, LocalDateTime.now().plusHours(1));
+
+            assertFalse(revocationStore.isRevoked(jti));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(revocationStore.isRevoked(jti));
+    }
+
+    @Test
+    void testRevokeInRolledBackTransactionIsNotRemembered() {
+        String jti = UUID.randomUUID().toString();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            revocationStore.revoke(jti, LocalDateTime.now().plusHours(1));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertFalse(revocationStore.isRevoked(jti));
+        assertEquals(0, revocationStore.size());
+    }
+
+    @Test
+    void testIgnoresAlreadyExpiredTokens() {
+        revocationStore.revoke("expired", LocalDateTime.now().minusSeconds(1));
+
+        assertFalse(revocationStore.isRevoked("expired"));
+        verify(revokedTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void testRefreshLoadsOtherInstancesAndEvictsExpired() {
+        String shortLived = UUID.randomUUID().toString();
+        String remote = UUID.randomUUID().toString();
+        revocationStore.revoke(shortLived, LocalDateTime.now().plusNanos(50_000_000));
+        when(revokedTokenRepository.findActiveRevokedSince(any(), any())).thenReturn(List.of(
+                RevokedToken.builder().jti(remote).expiresAt(LocalDateTime.now().plusHours(1)).revokedAt(LocalDateTime.now()).build()));
+
+        await(Duration.ofMillis(100));
+        revocationStore.refresh();
+
+        assertTrue(revocationStore.isRevoked(remote));
+        assertFalse(revocationStore.isRevoked(shortLived));
+        assertEquals(1, revocationStore.size());
+    }
+
+    @Test
+    void testGrowsBeyondExpectedSize() {
+        for (int i = 0; i < 1000; i++) revocationStore.revoke("jti-" + i, LocalDateTime.now().plusHours(1));
+
+        revocationStore.refresh();
+
+        for (int i = 0; i < 1000; i++) assertTrue(revocationStore.isRevoked("jti-" + i));
+        assertEquals(1000, revocationStore.size());
+    }
+
+    private static void await(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,9 +1,18 @@
 package br.com.fiap.challenge.gamblers;
 
 import br.com.fiap.challenge.gamblers.controllers.TransactionController;
+import br.com.fiap.challenge.gamblers.interfaces.IIdempotencyService;
+import br.com.fiap.challenge.gamblers.interfaces.ITransactionIngestionService;
+import br.com.fiap.challenge.gamblers.interfaces.ITransactionStreamService;
 import br.com.fiap.challenge.gamblers.interfaces.ITransactionService;
+import br.com.fiap.challenge.gamblers.entities.IngestionStatus;
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionIngestionStatusDTO;
+import br.com.fiap.challenge.gamblers.exception.TooManyRequestsException;
+import java.time.Duration;
 import br.com.fiap.challenge.gamblers.entities.dtos.TransactionDTO;
 import br.com.fiap.challenge.gamblers.entities.dtos.CreateTransactionDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.CursorPage;
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionFilterRequest;
 import br.com.fiap.challenge.gamblers.entities.TransactionType;
 import br.com.fiap.challenge.gamblers.exception.NotFoundException;
 import br.com.fiap.challenge.gamblers.entities.TransactionType;
@@ -19,6 +28,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -47,6 +58,15 @@ class TransactionControllerIntegrationTest {
     @MockBean
     private ITransactionService transactionService;
 
+    @MockBean
+    private ITransactionIngestionService ingestionService;
+
+    @MockBean
+    private IIdempotencyService idempotencyService;
+
+    @MockBean
+    private ITransactionStreamService streamService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -66,8 +86,9 @@ class TransactionControllerIntegrationTest {
                 .createdAt(LocalDateTime.now())
                 .build();
         when(transactionService.findById(transactionId)).thenReturn(transactionDTO);
-        when(transactionService.findByUser(userId)).thenReturn(List.of(transactionDTO));
-        when(transactionService.findAll(null, null)).thenReturn(List.of(transactionDTO));
+        when(transactionService.findByUser(eq(userId), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(List.of(transactionDTO));
+        when(transactionService.findByUser(eq(userId), isNull(), isNull())).thenThrow(new IllegalArgumentException("'from' and 'to' are required"));
+        when(transactionService.findAll(any(TransactionFilterRequest.class))).thenReturn(new CursorPage<>(List.of(transactionDTO), null));
     }
 
     @Test
@@ -91,6 +112,66 @@ class TransactionControllerIntegrationTest {
                 .andExpect(jsonPath("$.description").value("New transaction"));
     }
 
+    @Test
+    void testCreateTransactionAsyncReturnsAccepted() throws Exception {
+        CreateTransactionDTO dto = new CreateTransactionDTO(userId, BigDecimal.valueOf(20.0), "Aposta", TransactionType.BET);
+        UUID queuedId = UUID.randomUUID();
+        when(ingestionService.isEnabled()).thenReturn(true);
+        when(ingestionService.submit(any(CreateTransactionDTO.class)))
+                .thenReturn(TransactionIngestionStatusDTO.builder().id(queuedId).status(IngestionStatus.PENDING).build());
+
+        mockMvc.perform(post("/api/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/transactions/" + queuedId + "/status"))
+                .andExpect(jsonPath("$.id").value(queuedId.toString()))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+        verify(transactionService, never()).create(any());
+    }
+
+    @Test
+    void testCreateTransactionAsyncQueueFull() throws Exception {
+        CreateTransactionDTO dto = new CreateTransactionDTO(userId, BigDecimal.valueOf(20.0), "Aposta", TransactionType.BET);
+        when(ingestionService.isEnabled()).thenReturn(true);
+        when(ingestionService.submit(any(CreateTransactionDTO.class)))
+                .thenThrow(new TooManyRequestsException("Transaction ingestion queue is full, try again later", Duration.ofSeconds(1)));
+
+        mockMvc.perform(post("/api/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void testCreateTransactionWithIdempotencyKey() throws Exception {
+        CreateTransactionDTO dto = new CreateTransactionDTO(userId, BigDecimal.valueOf(20.0), "Aposta", TransactionType.BET);
+        when(ingestionService.isEnabled()).thenReturn(true);
+        when(idempotencyService.createTransaction(eq("order-42"), any(CreateTransactionDTO.class)))
+                .thenReturn(TransactionDTO.builder().id(transactionId).amount(BigDecimal.valueOf(20.0)).build());
+
+        mockMvc.perform(post("/api/transactions")
+                .header("Idempotency-Key", "order-42")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(transactionId.toString()));
+        // Keyed requests are written synchronously, with the key in the same transaction
+        verify(ingestionService, never()).submit(any());
+        verify(transactionService, never()).create(any());
+    }
+
+    @Test
+    void testIngestionStatus() throws Exception {
+        when(ingestionService.status(transactionId))
+                .thenReturn(TransactionIngestionStatusDTO.builder().id(transactionId).status(IngestionStatus.COMMITTED).build());
+
+        mockMvc.perform(get("/api/transactions/{id}/status", transactionId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMMITTED"));
+    }
+
     @Test
     void testGetTransactionById() throws Exception {
         mockMvc.perform(get("/api/transactions/{id}", transactionId))
@@ -110,17 +191,27 @@ class TransactionControllerIntegrationTest {
 
     @Test
     void testGetTransactionsByUser() throws Exception {
-        mockMvc.perform(get("/api/transactions/user/{userId}", userId))
+        mockMvc.perform(get("/api/transactions/user/{userId}", userId)
+                        .param("from", "2025-01-01T00:00:00")
+                        .param("to", "2025-02-01T00:00:00"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].amount").value(100.0));
     }
 
+    @Test
+    void testGetTransactionsByUser_WithoutRange() throws Exception {
+        mockMvc.perform(get("/api/transactions/user/{userId}", userId))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("'from' and 'to' are required"));
+    }
+
     @Test
     void testGetAllTransactions() throws Exception {
         mockMvc.perform(get("/api/transactions"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray());
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.items[0].amount").value(100.0));
     }
 
     @Test
@@ -153,4 +244,50 @@ class TransactionControllerIntegrationTest {
 
         verify(transactionService).delete(transactionId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testExportTransactions() throws Exception {
+        // The body streams on another thread; hold it until the first perform has printed the response headers
+        java.util.concurrent.CountDownLatch started = new java.util.concurrent.CountDownLatch(1);
+        doAnswer(inv -> {
+            started.await(5, java.util.concurrent.TimeUnit.SECONDS);
+            inv.<java.io.OutputStream>getArgument(0).write("{\"id\":\"x\"}\n".getBytes());
+            return null;
+        }).when(transactionService).exportTo(any(), isNull(), isNull(), eq(TransactionType.BET));
+
+        MvcResult result = mockMvc.perform(get("/api/transactions/export").param("type", "BET"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        started.countDown();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"id\":\"x\"}\n"));
+    }
+
+    @Test
+    void testStreamTransactions() throws Exception {
+        when(streamService.subscribe(userId, TransactionType.BET)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/transactions/stream").param("userId", userId.toString()).param("type", "BET"))
+                .andExpect(request().asyncStarted());
+
+        verify(streamService).subscribe(userId, TransactionType.BET);
+    }
+
+    @Test
+    void testExportTransactions_InvalidRangeIsRejectedBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/api/transactions/export")
+                        .param("from", "2025-02-01T00:00:00").param("to", "2025-01-01T00:00:00"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest());
+        verify(transactionService, never()).exportTo(any(), any(), any(), any());
+    }
+
+    @Test
+    void testExportTransactions_InvalidType() throws Exception {
+        mockMvc.perform(get("/api/transactions/export").param("type", "LOTTERY"))
+                .andExpect(status().isBadRequest());
+    }
+}
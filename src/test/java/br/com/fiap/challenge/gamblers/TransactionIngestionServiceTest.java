@@ -0,0 +1,185 @@
+package br.com.fiap.challenge.gamblers;
+
+import br.com.fiap.challenge.gamblers.entities.IngestionAck;
+import br.com.fiap.challenge.gamblers.entities.IngestionStatus;
+import br.com.fiap.challenge.gamblers.entities.Transaction;
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import br.com.fiap.challenge.gamblers.entities.dtos.CreateTransactionDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionIngestionStatusDTO;
+import br.com.fiap.challenge.gamblers.exception.NotFoundException;
+import br.com.fiap.challenge.gamblers.exception.TooManyRequestsException;
+import br.com.fiap.challenge.gamblers.repositories.TransactionRepository;
+import br.com.fiap.challenge.gamblers.repositories.UserRepository;
+import br.com.fiap.challenge.gamblers.services.TransactionIngestionService;
+import br.com.fiap.challenge.gamblers.services.TransactionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class TransactionIngestionServiceTest {
+
+    private static final BigDecimal POISON = new BigDecimal("666");
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UUID userId = UUID.randomUUID();
+    private final CountDownLatch writerEntered = new CountDownLatch(1);
+    private CountDownLatch writerReleased = new CountDownLatch(0);
+    private TransactionIngestionService ingestionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(userRepository.findExistingIds(any())).thenReturn(List.of(userId));
+        when(transactionService.insertAll(anyList())).thenAnswer(inv -> {
+            writerEntered.countDown();
+            writerReleased.await(10, TimeUnit.SECONDS);
+            List<Transaction> rows = inv.getArgument(0);
+            if (rows.size() > 1 && rows.stream().anyMatch(t -> POISON.equals(t.getAmount()))) throw new IllegalStateException("constraint violated");
+            if (rows.size() == 1 && POISON.equals(rows.get(0).getAmount())) throw new IllegalStateException("constraint violated");
+            return rows.stream().map(t -> TransactionDTO.builder().id(t.getId()).amount(t.getAmount()).build()).toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writerReleased.countDown();
+        ingestionService.shutdown();
+    }
+
+    @Test
+    void testAckAfterCommitReturnsCommittedTransaction() {
+        start(IngestionAck.COMMIT, 16);
+
+        TransactionIngestionStatusDTO result = ingestionService.submit(dto("10.00"));
+
+        assertEquals(IngestionStatus.COMMITTED, result.getStatus());
+        assertEquals(result.getId(), result.getTransaction().getId());
+        assertEquals(IngestionStatus.COMMITTED, ingestionService.status(result.getId()).getStatus());
+        // The id handed out before the insert is the one persisted
+        verify(transactionService).insertAll(argThat(rows -> rows.get(0).getId().equals(result.getId())));
+    }
+
+    @Test
+    void testUnknownUserFailsTheRequest() {
+        start(IngestionAck.COMMIT, 16);
+        when(userRepository.findExistingIds(any())).thenReturn(List.of());
+
+        assertThrows(NotFoundException.class, () -> ingestionService.submit(dto("10.00")));
+        verify(transactionService, never()).insertAll(anyList());
+    }
+
+    @Test
+    void testAckAfterEnqueueIsPolledUntilCommitted() throws Exception {
+        writerReleased = new CountDownLatch(1);
+        start(IngestionAck.ENQUEUE, 16);
+
+        TransactionIngestionStatusDTO accepted = ingestionService.submit(dto("10.00"));
+        assertTrue(writerEntered.await(5, TimeUnit.SECONDS));
+
+        assertEquals(IngestionStatus.PENDING, accepted.getStatus());
+        assertEquals(IngestionStatus.PENDING, ingestionService.status(accepted.getId()).getStatus());
+        writerReleased.countDown();
+        assertEquals(IngestionStatus.COMMITTED, awaitOutcome(accepted.getId()).getStatus());
+    }
+
+    @Test
+    void testFullQueueIsRejected() throws Exception {
+        writerReleased = new CountDownLatch(1);
+        start(IngestionAck.ENQUEUE, 2);
+        ingestionService.submit(dto("1.00"));
+        assertTrue(writerEntered.await(5, TimeUnit.SECONDS));
+
+        // The writer is busy with the first one; two more fill the buffer
+        ingestionService.submit(dto("2.00"));
+        ingestionService.submit(dto("3.00"));
+
+        assertThrows(TooManyRequestsException.class, () -> ingestionService.submit(dto("4.00")));
+        assertEquals(1, registry.get("transactions.ingest.rejected").counter().count());
+    }
+
+    @Test
+    void testFailedBatchIsRetriedRowByRow() throws Exception {
+        writerReleased = new CountDownLatch(1);
+        start(IngestionAck.ENQUEUE, 16);
+        ingestionService.submit(dto("1.00"));
+        assertTrue(writerEntered.await(5, TimeUnit.SECONDS));
+        UUID good = ingestionService.submit(dto("2.00")).getId();
+        UUID bad = ingestionService.submit(dto("666")).getId();
+
+        writerReleased.countDown();
+
+        assertEquals(IngestionStatus.COMMITTED, awaitOutcome(good).getStatus());
+        TransactionIngestionStatusDTO failed = awaitOutcome(bad);
+        assertEquals(IngestionStatus.FAILED, failed.getStatus());
+        assertEquals("Transaction could not be written", failed.getError());
+    }
+
+    @Test
+    void testUnknownIdFallsBackToDatabase() {
+        start(IngestionAck.ENQUEUE, 16);
+        UUID stored = UUID.randomUUID();
+        when(transactionRepository.existsById(stored)).thenReturn(true);
+
+        assertEquals(IngestionStatus.COMMITTED, ingestionService.status(stored).getStatus());
+        assertThrows(NotFoundException.class, () -> ingestionService.status(UUID.randomUUID()));
+    }
+
+    private void start(IngestionAck ack, int capacity) {
+        ingestionService = new TransactionIngestionService(transactionService, userRepository, transactionRepository, transactionManager, registry);
+        ReflectionTestUtils.setField(ingestionService, "enabled", true);
+        ReflectionTestUtils.setField(ingestionService, "ack", ack);
+        ReflectionTestUtils.setField(ingestionService, "capacity", capacity);
+        ReflectionTestUtils.setField(ingestionService, "writers", 1);
+        ReflectionTestUtils.setField(ingestionService, "batchSize", 100);
+        ReflectionTestUtils.setField(ingestionService, "commitTimeout", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(ingestionService, "statusRetention", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(ingestionService, "statusMaxEntries", 1000L);
+        ingestionService.init();
+    }
+
+    private TransactionIngestionStatusDTO awaitOutcome(UUID id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        TransactionIngestionStatusDTO status = ingestionService.status(id);
+        while (status.getStatus() == IngestionStatus.PENDING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = ingestionService.status(id);
+        }
+        return status;
+    }
+
+    private CreateTransactionDTO dto(String amount) {
+        return new CreateTransactionDTO(userId, new BigDecimal(amount), "Aposta", TransactionType.BET);
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.fiap.challenge.gamblers;
+
+import br.com.fiap.challenge.gamblers.services.TransactionPartitionManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TransactionPartitionManagerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private TransactionPartitionManager partitionManager;
+
+    private final LocalDate today = LocalDate.of(2025, 11, 15);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(partitionManager, "enabled", true);
+        ReflectionTestUtils.setField(partitionManager, "premakeMonths", 2);
+        ReflectionTestUtils.setField(partitionManager, "retentionMonths", 0);
+        ReflectionTestUtils.setField(partitionManager, "archiveSchema", "archive");
+        partitionManager.init();
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class))).thenReturn(1);
+    }
+
+    @Test
+    void testCreatesCurrentAndUpcomingMonths() {
+        partitionManager.maintain(today);
+
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS transactions_p2025_11 PARTITION OF transactions FOR VALUES FROM ('2025-11-01') TO ('2025-12-01')");
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS transactions_p2025_12 PARTITION OF transactions FOR VALUES FROM ('2025-12-01') TO ('2026-01-01')");
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS transactions_p2026_01 PARTITION OF transactions FOR VALUES FROM ('2026-01-01') TO ('2026-02-01')");
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(String.class));
+    }
+
+    @Test
+    void testArchivesPartitionsPastRetention() {
+        ReflectionTestUtils.setField(partitionManager, "retentionMonths", 12);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of("transactions_default", "transactions_p2024_10", "transactions_p2024_11", "transactions_p2025_11"));
+
+        partitionManager.maintain(today);
+
+        verify(jdbcTemplate).execute("ALTER TABLE transactions DETACH PARTITION transactions_p2024_10");
+        verify(jdbcTemplate).execute("ALTER TABLE transactions_p2024_10 SET SCHEMA archive");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE transactions DETACH PARTITION transactions_p2024_11");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE transactions DETACH PARTITION transactions_default");
+    }
+
+    @Test
+    void testSkipsWhenNotPostgres() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+
+        partitionManager.maintain(today);
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void testRejectsInvalidArchiveSchema() {
+        ReflectionTestUtils.setField(partitionManager, "archiveSchema", "archive; drop table users");
+
+        assertThrows(IllegalStateException.class, () -> partitionManager.init());
+    }
+}
@@ -1,28 +1,50 @@
 package br.com.fiap.challenge.gamblers;
 
+import br.com.fiap.challenge.gamblers.entities.ChangeEntity;
+import br.com.fiap.challenge.gamblers.entities.OutboxEventType;
 import br.com.fiap.challenge.gamblers.entities.Transaction;
 import br.com.fiap.challenge.gamblers.entities.TransactionType;
 import br.com.fiap.challenge.gamblers.entities.User;
+import br.com.fiap.challenge.gamblers.entities.dtos.BulkTransactionResponse;
 import br.com.fiap.challenge.gamblers.entities.dtos.CreateTransactionDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.CursorPage;
 import br.com.fiap.challenge.gamblers.entities.dtos.TransactionDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionFilterRequest;
+import br.com.fiap.challenge.gamblers.events.TransactionCreatedEvent;
 import br.com.fiap.challenge.gamblers.exception.NotFoundException;
 import br.com.fiap.challenge.gamblers.repositories.TransactionRepository;
 import br.com.fiap.challenge.gamblers.repositories.UserRepository;
+import br.com.fiap.challenge.gamblers.services.ActivityService;
+import br.com.fiap.challenge.gamblers.services.BalanceService;
+import br.com.fiap.challenge.gamblers.services.ChangeFeedService;
+import br.com.fiap.challenge.gamblers.services.OutboxService;
+import br.com.fiap.challenge.gamblers.services.KeysetCursor;
 import br.com.fiap.challenge.gamblers.services.TransactionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class TransactionServiceTest {
@@ -33,6 +55,27 @@ class TransactionServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private BalanceService balanceService;
+
+    @Mock
+    private ActivityService activityService;
+
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -78,6 +121,9 @@ class TransactionServiceTest {
         assertEquals("Test transaction", result.getDescription());
         verify(userRepository).findById(userId);
         verify(transactionRepository).save(any(Transaction.class));
+        verify(balanceService).applyCreated(transaction);
+        verify(activityService).applyCreated(transaction);
+        verify(eventPublisher).publishEvent(any(TransactionCreatedEvent.class));
     }
 
     @Test
@@ -91,14 +137,35 @@ class TransactionServiceTest {
 
     @Test
     void testFindByUser() {
-        when(transactionRepository.findByUserId(userId)).thenReturn(List.of(transaction));
+        TransactionDTO dto = TransactionDTO.builder().id(transactionId).userId(userId).amount(BigDecimal.valueOf(100.0)).build();
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 2, 1, 0, 0);
+        when(transactionRepository.findDTOsByUserId(userId, from, to)).thenReturn(List.of(dto));
 
-        List<TransactionDTO> result = transactionService.findByUser(userId);
+        List<TransactionDTO> result = transactionService.findByUser(userId, from, to);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(transactionId, result.get(0).getId());
-        verify(transactionRepository).findByUserId(userId);
+        verify(transactionRepository).findDTOsByUserId(userId, from, to);
+    }
+
+    @Test
+    void testFindByUser_RequiresRange() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThrows(IllegalArgumentException.class, () -> transactionService.findByUser(userId, null, now));
+        assertThrows(IllegalArgumentException.class, () -> transactionService.findByUser(userId, now, null));
+        assertThrows(IllegalArgumentException.class, () -> transactionService.findByUser(userId, null, null));
+        verify(transactionRepository, never()).findDTOsByUserId(any(), any(), any());
+    }
+
+    @Test
+    void testFindByUser_InvalidRange() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThrows(IllegalArgumentException.class, () -> transactionService.findByUser(userId, now, now));
+        verify(transactionRepository, never()).findDTOsByUserId(any(), any(), any());
     }
 
     @Test
@@ -123,21 +190,26 @@ class TransactionServiceTest {
 
     @Test
     void testDelete() {
-        when(transactionRepository.existsById(transactionId)).thenReturn(true);
+        when(transactionRepository.findById(transactionId)).thenReturn(Optional.of(transaction));
 
         transactionService.delete(transactionId);
 
-        verify(transactionRepository).existsById(transactionId);
-        verify(transactionRepository).deleteById(transactionId);
+        verify(transactionRepository).findById(transactionId);
+        verify(transactionRepository).delete(transaction);
+        verify(balanceService).applyRemoved(transaction);
+        verify(activityService).applyRemoved(transaction);
+        verify(changeFeedService).recordDelete(ChangeEntity.TRANSACTION, transactionId);
     }
 
     @Test
     void testDelete_NotFound() {
-        when(transactionRepository.existsById(transactionId)).thenReturn(false);
+        when(transactionRepository.findById(transactionId)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> transactionService.delete(transactionId));
-        verify(transactionRepository).existsById(transactionId);
-        verify(transactionRepository, never()).deleteById(transactionId);
+        verify(transactionRepository).findById(transactionId);
+        verify(transactionRepository, never()).delete(any(Transaction.class));
+        verify(balanceService, never()).applyRemoved(any());
+        verify(activityService, never()).applyRemoved(any());
     }
 
     @Test
@@ -151,5 +223,133 @@ class TransactionServiceTest {
         assertEquals(BigDecimal.valueOf(100.0), result.getAmount());
         verify(transactionRepository).findById(transactionId);
         verify(transactionRepository).save(any(Transaction.class));
+        verify(balanceService).applyRemoved(transaction);
+        verify(balanceService).applyCreated(transaction);
+        verify(activityService).applyRemoved(transaction);
+        verify(activityService).applyCreated(transaction);
+        verify(outboxService).append(OutboxEventType.TRANSACTION_UPDATED, transactionId, result);
+    }
+
+    @Test
+    void testFindAll_ReturnsNextCursorWhenMoreRowsExist() {
+        Transaction older = Transaction.builder()
+                .id(UUID.randomUUID())
+                .user(user)
+                .amount(BigDecimal.valueOf(50.0))
+                .description("Older transaction")
+                .type(TransactionType.BET)
+                .createdAt(transaction.getCreatedAt().minusMinutes(1))
+                .build();
+        when(transactionRepository.findBy(any(Specification.class), any())).thenReturn(List.of(transaction, older));
+        TransactionFilterRequest filter = new TransactionFilterRequest();
+        filter.setSize(1);
+
+        CursorPage<TransactionDTO> result = transactionService.findAll(filter);
+
+        assertEquals(1, result.getItems().size());
+        assertEquals(transactionId, result.getItems().get(0).getId());
+        assertNotNull(result.getNextCursor());
+        KeysetCursor cursor = KeysetCursor.decode(result.getNextCursor());
+        assertEquals(transaction.getCreatedAt(), cursor.createdAt());
+        assertEquals(transactionId, cursor.id());
+    }
+
+    @Test
+    void testFindAll_LastPageHasNoCursor() {
+        when(transactionRepository.findBy(any(Specification.class), any())).thenReturn(List.of(transaction));
+
+        CursorPage<TransactionDTO> result = transactionService.findAll(new TransactionFilterRequest());
+
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void testFindAll_InvalidTypeOrCursor() {
+        TransactionFilterRequest badType = new TransactionFilterRequest();
+        badType.setType("LOTTERY");
+        TransactionFilterRequest badCursor = new TransactionFilterRequest();
+        badCursor.setCursor("not-a-cursor");
+
+        assertThrows(IllegalArgumentException.class, () -> transactionService.findAll(badType));
+        assertThrows(IllegalArgumentException.class, () -> transactionService.findAll(badCursor));
+        verify(transactionRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    void testExportTo_WritesOneJsonObjectPerLine() throws Exception {
+        TransactionDTO first = TransactionDTO.builder().id(UUID.randomUUID()).userId(userId).amount(BigDecimal.TEN)
+                .description("Deposit").type(TransactionType.DEPOSIT).createdAt(LocalDateTime.now()).build();
+        TransactionDTO second = TransactionDTO.builder().id(UUID.randomUUID()).userId(userId).amount(BigDecimal.ONE)
+                .description("Bet").type(TransactionType.BET).createdAt(LocalDateTime.now()).build();
+        when(transactionRepository.streamForExport(any(), any(), eq(TransactionType.BET))).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        transactionService.exportTo(out, null, null, TransactionType.BET);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(first.getId(), objectMapper.readValue(lines[0], TransactionDTO.class).getId());
+        assertEquals(second.getId(), objectMapper.readValue(lines[1], TransactionDTO.class).getId());
+    }
+
+    @Test
+    void testExportTo_FlushesOncePerFetchBatch() throws Exception {
+        int rows = TransactionRepository.EXPORT_FETCH_SIZE * 2 + 1;
+        when(transactionRepository.streamForExport(any(), any(), any())).thenReturn(Stream.iterate(0, i -> i + 1).limit(rows)
+                .map(i -> TransactionDTO.builder().id(UUID.randomUUID()).userId(userId).amount(BigDecimal.ONE).type(TransactionType.BET).build()));
+        int[] flushes = new int[1];
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes[0]++;
+            }
+        };
+
+        transactionService.exportTo(out, null, null, null);
+
+        assertEquals(rows, out.toString(StandardCharsets.UTF_8).split("\n").length);
+        // Two full batches plus the final flush and close, not one per row
+        assertTrue(flushes[0] <= 4, "flushed " + flushes[0] + " times");
+    }
+
+    @Test
+    void testExportTo_InvalidRange() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThrows(IllegalArgumentException.class, () -> transactionService.exportTo(new ByteArrayOutputStream(), now, now.minusDays(1), null));
+        verify(transactionRepository, never()).streamForExport(any(), any(), any());
+    }
+
+    @Test
+    void testCreateBulk_ReportsRejectedRowsIndividually() {
+        UUID unknownUser = UUID.randomUUID();
+        when(userRepository.findExistingIds(any())).thenReturn(List.of(userId));
+        when(userRepository.getReferenceById(userId)).thenReturn(user);
+        List<CreateTransactionDTO> rows = List.of(
+                createTransactionDTO,
+                new CreateTransactionDTO(unknownUser, BigDecimal.TEN, "Bet", TransactionType.BET),
+                new CreateTransactionDTO(userId, BigDecimal.valueOf(-1), "Bet", TransactionType.BET));
+
+        BulkTransactionResponse result = transactionService.createBulk(rows);
+
+        assertEquals(1, result.getCreated());
+        assertEquals(2, result.getRejected());
+        assertTrue(result.getResults().get(0).isCreated());
+        assertEquals("User not found", result.getResults().get(1).getError());
+        assertTrue(result.getResults().get(2).getError().startsWith("amount"));
+        verify(userRepository).findExistingIds(any());
+        verify(userRepository, never()).findById(any());
+        verify(transactionRepository).saveAll(argThat(list -> ((List<?>) list).size() == 1));
+        verify(balanceService).applyCreatedAll(any());
+        verify(activityService).applyCreatedAll(any());
+    }
+
+    @Test
+    void testCreateBulk_TooManyRows() {
+        List<CreateTransactionDTO> rows = java.util.Collections.nCopies(5001, createTransactionDTO);
+
+        assertThrows(IllegalArgumentException.class, () -> transactionService.createBulk(rows));
+        verify(transactionRepository, never()).saveAll(any());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,128 @@
+package br.com.fiap.challenge.gamblers;
+
+import br.com.fiap.challenge.gamblers.controllers.TransactionController;
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import br.com.fiap.challenge.gamblers.entities.dtos.TransactionDTO;
+import br.com.fiap.challenge.gamblers.events.TransactionCreatedEvent;
+import br.com.fiap.challenge.gamblers.exception.ServiceBusyException;
+import br.com.fiap.challenge.gamblers.interfaces.IIdempotencyService;
+import br.com.fiap.challenge.gamblers.interfaces.ITransactionIngestionService;
+import br.com.fiap.challenge.gamblers.interfaces.ITransactionService;
+import br.com.fiap.challenge.gamblers.services.TransactionStreamHub;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class TransactionStreamHubTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UUID watched = UUID.randomUUID();
+    private TransactionStreamHub hub;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        hub = new TransactionStreamHub(new ObjectMapper().findAndRegisterModules(), registry);
+        ReflectionTestUtils.setField(hub, "maxSubscribers", 2);
+        ReflectionTestUtils.setField(hub, "bufferSize", 4);
+        ReflectionTestUtils.setField(hub, "timeout", Duration.ofMinutes(1));
+        hub.init();
+        TransactionController controller = new TransactionController(mock(ITransactionService.class),
+                mock(ITransactionIngestionService.class), mock(IIdempotencyService.class), hub);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void testStreamsMatchingTransactionsOnly() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/api/transactions/stream")
+                        .param("userId", watched.toString()).param("type", "BET"))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        TransactionDTO first = tx(watched, TransactionType.BET);
+        TransactionDTO otherUser = tx(UUID.randomUUID(), TransactionType.BET);
+        TransactionDTO otherType = tx(watched, TransactionType.DEPOSIT);
+        TransactionDTO last = tx(watched, TransactionType.BET);
+
+        for (TransactionDTO tx : new TransactionDTO[]{first, otherUser, otherType, last}) {
+            hub.onTransactionCreated(new TransactionCreatedEvent(tx));
+        }
+
+        String body = awaitContent(response, last.getId().toString());
+        assertTrue(body.contains("event:transaction"));
+        assertTrue(body.contains("id:" + first.getId()));
+        assertFalse(body.contains(otherUser.getId().toString()));
+        assertFalse(body.contains(otherType.getId().toString()));
+    }
+
+    @Test
+    void testSlowSubscriberIsEvicted() throws Exception {
+        // Park the sender so nothing drains: the subscriber's buffer fills up as if its client had stalled
+        ExecutorService stalled = Executors.newSingleThreadExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        stalled.execute(() -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        ReflectionTestUtils.setField(hub, "senders", stalled);
+        hub.subscribe(watched, null);
+        assertEquals(1, registry.get("transactions.stream.subscribers").gauge().value());
+
+        for (int i = 0; i < 5; i++) hub.onTransactionCreated(new TransactionCreatedEvent(tx(watched, TransactionType.BET)));
+
+        assertEquals(1, registry.get("transactions.stream.evicted").counter().count());
+        assertEquals(0, registry.get("transactions.stream.subscribers").gauge().value());
+        release.countDown();
+        stalled.shutdown();
+    }
+
+    @Test
+    void testSubscribersAreCapped() {
+        hub.subscribe(watched, null);
+        hub.subscribe(null, TransactionType.BET);
+
+        assertThrows(ServiceBusyException.class, () -> hub.subscribe(null, null));
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String body = response.getContentAsString();
+        while (!body.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            body = response.getContentAsString();
+        }
+        return body;
+    }
+
+    private static TransactionDTO tx(UUID userId, TransactionType type) {
+        return TransactionDTO.builder().id(UUID.randomUUID()).userId(userId).amount(new BigDecimal("10.00"))
+                .description("Aposta").type(type).createdAt(LocalDateTime.now()).build();
+    }
+}
@@ -1,10 +1,19 @@
 package br.com.fiap.challenge.gamblers;
 
 import br.com.fiap.challenge.gamblers.controllers.UserController;
+import br.com.fiap.challenge.gamblers.entities.ActivityGranularity;
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import br.com.fiap.challenge.gamblers.entities.dtos.ActivityBucketDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.UserActivityResponse;
+import br.com.fiap.challenge.gamblers.interfaces.IActivityService;
+import br.com.fiap.challenge.gamblers.interfaces.IBalanceService;
 import br.com.fiap.challenge.gamblers.interfaces.IUserService;
 import br.com.fiap.challenge.gamblers.entities.dtos.UserDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.BalanceDTO;
 import br.com.fiap.challenge.gamblers.entities.dtos.CreateUserDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.CursorPage;
 import br.com.fiap.challenge.gamblers.entities.dtos.UpdateUserDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.UserFilterRequest;
 import br.com.fiap.challenge.gamblers.exception.NotFoundException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +25,8 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -39,6 +50,12 @@ class UserControllerIntegrationTest {
     @MockBean
     private IUserService userService;
 
+    @MockBean
+    private IBalanceService balanceService;
+
+    @MockBean
+    private IActivityService activityService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -55,7 +72,7 @@ class UserControllerIntegrationTest {
                 .createdAt(LocalDateTime.now())
                 .build();
         when(userService.findById(userId)).thenReturn(userDTO);
-        when(userService.findAll(anyString(), anyString())).thenReturn(List.of(userDTO));
+        when(userService.findAll(any(UserFilterRequest.class))).thenReturn(new CursorPage<>(List.of(userDTO), null));
     }
 
     @Test
@@ -99,7 +116,8 @@ class UserControllerIntegrationTest {
     void testGetAllUsers() throws Exception {
         mockMvc.perform(get("/api/users"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray());
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.items[0].id").value(userId.toString()));
     }
 
     @Test
@@ -131,4 +149,49 @@ class UserControllerIntegrationTest {
 
         verify(userService).delete(userId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetBalance() throws Exception {
+        when(balanceService.getBalance(userId)).thenReturn(BalanceDTO.builder()
+                .userId(userId)
+                .balance(BigDecimal.valueOf(70.0))
+                .totalDeposits(BigDecimal.valueOf(100.0))
+                .totalWithdrawals(BigDecimal.ZERO)
+                .totalBets(BigDecimal.valueOf(30.0))
+                .build());
+
+        mockMvc.perform(get("/api/users/{id}/balance", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(70.0))
+                .andExpect(jsonPath("$.totalBets").value(30.0));
+    }
+
+    @Test
+    void testGetActivity() throws Exception {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2026, 1, 1);
+        when(activityService.getActivity(userId, from, to, ActivityGranularity.MONTH)).thenReturn(UserActivityResponse.builder()
+                .userId(userId)
+                .granularity(ActivityGranularity.MONTH)
+                .from(from)
+                .to(to)
+                .buckets(List.of(ActivityBucketDTO.builder()
+                        .period(LocalDate.of(2025, 3, 1))
+                        .type(TransactionType.BET)
+                        .count(12)
+                        .amount(BigDecimal.valueOf(240.0))
+                        .minAmount(BigDecimal.valueOf(5.0))
+                        .maxAmount(BigDecimal.valueOf(50.0))
+                        .build()))
+                .build());
+
+        mockMvc.perform(get("/api/users/{id}/activity", userId)
+                        .param("from", "2025-01-01")
+                        .param("to", "2026-01-01")
+                        .param("granularity", "MONTH"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.buckets[0].period").value("2025-03-01"))
+                .andExpect(jsonPath("$.buckets[0].count").value(12))
+                .andExpect(jsonPath("$.buckets[0].amount").value(240.0));
+    }
+}
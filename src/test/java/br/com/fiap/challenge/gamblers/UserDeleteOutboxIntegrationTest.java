@@ -0,0 +1,88 @@
+package br.com.fiap.challenge.gamblers;
+
+import br.com.fiap.challenge.gamblers.entities.OutboxEventType;
+import br.com.fiap.challenge.gamblers.entities.Transaction;
+import br.com.fiap.challenge.gamblers.entities.TransactionType;
+import br.com.fiap.challenge.gamblers.entities.User;
+import br.com.fiap.challenge.gamblers.repositories.TransactionRepository;
+import br.com.fiap.challenge.gamblers.repositories.UserRepository;
+import br.com.fiap.challenge.gamblers.services.OutboxService;
+import br.com.fiap.challenge.gamblers.services.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class UserDeleteOutboxIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // The shared test context runs without a dispatcher; enable writing events on the bean only
+    @BeforeEach
+    void enableOutbox() {
+        ReflectionTestUtils.setField(outboxService, "enabled", true);
+    }
+
+    @AfterEach
+    void disableOutbox() {
+        ReflectionTestUtils.setField(outboxService, "enabled", false);
+        jdbcTemplate.update("delete from outbox_events");
+    }
+
+    @Test
+    void testDeletingUserPublishesOneEventPerCascadedTransaction() {
+        User user = userRepository.save(User.builder()
+                .name("Leaving")
+                .email(UUID.randomUUID() + "@example.com")
+                .passwordHash("x")
+                .createdAt(LocalDateTime.now())
+                .build());
+        List<UUID> transactionIds = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            transactionIds.add(transactionRepository.save(Transaction.builder()
+                    .user(user)
+                    .amount(BigDecimal.valueOf(i))
+                    .description("Bet " + i)
+                    .type(TransactionType.BET)
+                    .createdAt(LocalDateTime.now())
+                    .build()).getId());
+        }
+
+        userService.delete(user.getId());
+
+        List<UUID> published = jdbcTemplate.queryForList(
+                "select aggregate_id from outbox_events where event_type = ?", UUID.class, OutboxEventType.TRANSACTION_DELETED.name());
+        assertEquals(3, published.size());
+        assertEquals(Set.copyOf(transactionIds), new HashSet<>(published));
+        String payload = jdbcTemplate.queryForObject("select payload from outbox_events where aggregate_id = ?", String.class, transactionIds.get(0));
+        assertTrue(payload.contains(user.getId().toString()));
+    }
+}
@@ -2,19 +2,29 @@ package br.com.fiap.challenge.gamblers;
 
 import br.com.fiap.challenge.gamblers.entities.User;
 import br.com.fiap.challenge.gamblers.entities.dtos.CreateUserDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.CursorPage;
 import br.com.fiap.challenge.gamblers.entities.dtos.UpdateUserDTO;
 import br.com.fiap.challenge.gamblers.entities.dtos.UserDTO;
+import br.com.fiap.challenge.gamblers.entities.dtos.UserFilterRequest;
 import br.com.fiap.challenge.gamblers.exception.NotFoundException;
+import br.com.fiap.challenge.gamblers.interfaces.IRefreshTokenService;
 import br.com.fiap.challenge.gamblers.repositories.UserRepository;
+import br.com.fiap.challenge.gamblers.security.PrincipalCache;
+import br.com.fiap.challenge.gamblers.services.ChangeFeedService;
+import br.com.fiap.challenge.gamblers.services.OutboxService;
+import br.com.fiap.challenge.gamblers.services.KeysetCursor;
 import br.com.fiap.challenge.gamblers.services.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -30,6 +40,18 @@ class UserServiceTest {
     @Mock
     private BCryptPasswordEncoder passwordEncoder;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private IRefreshTokenService refreshTokenService;
+
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    @Mock
+    private OutboxService outboxService;
+
     @InjectMocks
     private UserService userService;
 
@@ -87,6 +109,44 @@ class UserServiceTest {
         verify(userRepository).findById(userId);
     }
 
+    @Test
+    void testFindAll_ReturnsCursorWhenMoreRowsExist() {
+        User older = User.builder().id(UUID.randomUUID()).name("John Older").email("older@example.com")
+                .createdAt(user.getCreatedAt().minusDays(1)).build();
+        when(userRepository.findBy(any(Specification.class), any())).thenReturn(List.of(user, older));
+        UserFilterRequest filter = new UserFilterRequest();
+        filter.setName("john");
+        filter.setSize(1);
+
+        CursorPage<UserDTO> result = userService.findAll(filter);
+
+        assertEquals(1, result.getItems().size());
+        assertEquals(userId, result.getItems().get(0).getId());
+        KeysetCursor cursor = KeysetCursor.decode(result.getNextCursor());
+        assertEquals(user.getCreatedAt(), cursor.createdAt());
+        assertEquals(userId, cursor.id());
+    }
+
+    @Test
+    void testFindAll_LastPageHasNoCursor() {
+        when(userRepository.findBy(any(Specification.class), any())).thenReturn(List.of(user));
+
+        CursorPage<UserDTO> result = userService.findAll(new UserFilterRequest());
+
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNextCursor());
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    void testFindAll_InvalidCursor() {
+        UserFilterRequest filter = new UserFilterRequest();
+        filter.setCursor("not-a-cursor");
+
+        assertThrows(IllegalArgumentException.class, () -> userService.findAll(filter));
+        verify(userRepository, never()).findBy(any(Specification.class), any());
+    }
+
     @Test
     void testUpdateUser() {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
@@ -99,24 +159,33 @@ class UserServiceTest {
         assertEquals("jane@example.com", result.getEmail());
         verify(userRepository).findById(userId);
         verify(userRepository).save(any(User.class));
+        verify(principalCache).invalidate("john@example.com");
     }
 
     @Test
     void testDeleteUser() {
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.findEmailById(userId)).thenReturn(Optional.of("john@example.com"));
 
         userService.delete(userId);
 
-        verify(userRepository).existsById(userId);
-        verify(userRepository).deleteById(userId);
+        verify(userRepository).findEmailById(userId);
+        verify(refreshTokenService).revokeAll(userId);
+        verify(changeFeedService).recordUserDeleted(userId);
+        // The cascaded transactions are read for their events before the user row goes
+        InOrder order = inOrder(outboxService, userRepository);
+        order.verify(outboxService).appendUserTransactionsDeleted(userId);
+        order.verify(userRepository).deleteById(userId);
+        verify(principalCache).invalidate("john@example.com");
     }
 
     @Test
     void testDeleteUser_NotFound() {
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userRepository.findEmailById(userId)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> userService.delete(userId));
-        verify(userRepository).existsById(userId);
+        verify(userRepository).findEmailById(userId);
         verify(userRepository, never()).deleteById(userId);
+        verify(refreshTokenService, never()).revokeAll(any());
+        verify(principalCache, never()).invalidate(any());
     }
 }
\ No newline at end of file